@@ -0,0 +1,89 @@
+package com.tterrag.registrate;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+import com.mojang.serialization.Lifecycle;
+
+import net.minecraft.core.MappedRegistry;
+import net.minecraft.core.Registry;
+import net.minecraft.core.WritableRegistry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.data.loading.DatagenModLoader;
+import net.neoforged.neoforge.registries.DeferredHolder;
+import net.neoforged.neoforge.registries.RegisterEvent;
+
+/**
+ * Headless {@link AbstractRegistrate} for benchmarks. Registration events are fired by hand against a plain {@link MappedRegistry}, so no mod loading environment is required.
+ */
+public class BenchmarkRegistrate extends AbstractRegistrate<BenchmarkRegistrate> {
+
+    public static final String MODID = "registrate_bench";
+
+    /** Synthetic registry type, entries are plain objects so that construction cost is entirely up to the benchmark */
+    public static final ResourceKey<Registry<Object>> SYNTHETIC = ResourceKey.createRegistryKey(new ResourceLocation(MODID, "synthetic"));
+    /** The registry for {@link #SYNTHETIC}, added to the root registry so that {@link DeferredHolder}s of synthetic entries can be resolved */
+    public static final MappedRegistry<Object> SYNTHETIC_REGISTRY = newRegistry(SYNTHETIC);
+
+    private static final Constructor<RegisterEvent> REGISTER_EVENT;
+
+    static {
+        try {
+            REGISTER_EVENT = RegisterEvent.class.getDeclaredConstructor(ResourceKey.class, Registry.class);
+            REGISTER_EVENT.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        registerRoot(SYNTHETIC_REGISTRY);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static void registerRoot(MappedRegistry<?> registry) {
+        ((WritableRegistry) BuiltInRegistries.REGISTRY).register(registry.key(), registry, Lifecycle.stable());
+    }
+
+    /**
+     * Pretend to be running data generation, so that data generators are collected. Must be called before any registrate is created.
+     */
+    public static void enableDatagen() {
+        try {
+            Field running = DatagenModLoader.class.getDeclaredField("runningDataGen");
+            running.setAccessible(true);
+            running.setBoolean(null, true);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not enable datagen", e);
+        }
+    }
+
+    public BenchmarkRegistrate() {
+        super(MODID);
+    }
+
+    /**
+     * Fire both registration passes for the given event, as the mod event bus would.
+     */
+    public void fire(RegisterEvent event) {
+        onRegister(event);
+        onRegisterLate(event);
+    }
+
+    /**
+     * @return A fresh, empty, unfrozen registry of the given type
+     */
+    public static <T> MappedRegistry<T> newRegistry(ResourceKey<? extends Registry<T>> type) {
+        return new MappedRegistry<>(type, Lifecycle.stable());
+    }
+
+    /**
+     * @return A {@link RegisterEvent} for the given registry, which registers directly into it
+     */
+    public static <T> RegisterEvent registerEvent(ResourceKey<? extends Registry<T>> type, Registry<T> registry) {
+        try {
+            return REGISTER_EVENT.newInstance(type, registry);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not construct RegisterEvent", e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.tterrag.registrate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tterrag.registrate.util.entry.RegistryEntry;
+
+/**
+ * Stress test for {@link AbstractRegistrate#concurrentCapture() concurrent capture}, doubling as a measure of its throughput.
+ * <p>
+ * Every invocation declares {@link #entries} entries from {@link #threads} fresh threads at once. Each thread also adds a register callback for every entry of the next thread, racing against their
+ * capture. After each invocation, the merged order is checked against the deterministic lane order, and a registration pass checks that every callback survived. Any mismatch fails the run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 50)
+@Fork(1)
+public class ConcurrentCaptureBenchmark {
+
+    @Param({ "1000", "10000" })
+    int entries;
+
+    @Param({ "2", "8" })
+    int threads;
+
+    private String[][] names;
+    private List<String> expected;
+
+    private BenchmarkRegistrate registrate;
+    private AtomicInteger callbacks;
+
+    @Setup
+    public void setupNames() {
+        names = new String[threads][entries / threads];
+        expected = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < names[t].length; i++) {
+                names[t][i] = String.format(Locale.ROOT, "t%02d_entry_%05d", t, i);
+                expected.add(names[t][i]);
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        registrate = new BenchmarkRegistrate().concurrentCapture();
+        callbacks = new AtomicInteger();
+    }
+
+    @Benchmark
+    public BenchmarkRegistrate capture() throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            String[] own = names[t];
+            String[] next = names[(t + 1) % threads];
+            // Fresh threads, so that each gets its own lane
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < own.length; i++) {
+                    registrate.addRegisterCallback(next[i], BenchmarkRegistrate.SYNTHETIC, $ -> callbacks.incrementAndGet());
+                    registrate.simple(own[i], BenchmarkRegistrate.SYNTHETIC, Object::new);
+                }
+            });
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return registrate;
+    }
+
+    @TearDown(Level.Invocation)
+    public void verify() {
+        List<String> actual = new ArrayList<>();
+        for (RegistryEntry<Object, Object> entry : registrate.getAll(BenchmarkRegistrate.SYNTHETIC)) {
+            actual.add(entry.getId().getPath());
+        }
+        if (!actual.equals(expected)) {
+            throw new IllegalStateException("Nondeterministic capture order, or lost entries: captured " + actual.size() + " of " + expected.size());
+        }
+        registrate.fire(BenchmarkRegistrate.registerEvent(BenchmarkRegistrate.SYNTHETIC, BenchmarkRegistrate.newRegistry(BenchmarkRegistrate.SYNTHETIC)));
+        if (callbacks.get() != expected.size()) {
+            throw new IllegalStateException("Lost register callbacks: ran " + callbacks.get() + " of " + expected.size());
+        }
+    }
+}
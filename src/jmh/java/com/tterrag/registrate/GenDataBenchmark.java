@@ -0,0 +1,80 @@
+package com.tterrag.registrate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tterrag.registrate.providers.ProviderType;
+import com.tterrag.registrate.providers.RegistrateProvider;
+
+import net.minecraft.data.CachedOutput;
+import net.neoforged.fml.LogicalSide;
+
+/**
+ * Cost of {@link AbstractRegistrate#genData(ProviderType, RegistrateProvider)} dispatch over {@link #entries} entry-associated generators that do no work of their own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenDataBenchmark {
+
+    static class CountingProvider implements RegistrateProvider {
+
+        int generated;
+
+        @Override
+        public LogicalSide getSide() {
+            return LogicalSide.SERVER;
+        }
+
+        @Override
+        public CompletableFuture<?> run(CachedOutput output) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public String getName() {
+            return "Counting";
+        }
+    }
+
+    static final ProviderType<CountingProvider> COUNTING = ProviderType.register("registrate_bench_counting", (p, e) -> new CountingProvider());
+
+    @Param({ "100", "1000", "10000" })
+    int entries;
+
+    private BenchmarkRegistrate registrate;
+    private CountingProvider provider;
+
+    @Setup
+    public void setup() {
+        BenchmarkRegistrate.enableDatagen();
+        registrate = new BenchmarkRegistrate();
+        for (int i = 0; i < entries; i++) {
+            registrate.generic("entry_" + i, BenchmarkRegistrate.SYNTHETIC, Object::new)
+                    .setData(COUNTING, (ctx, prov) -> prov.generated++)
+                    .register();
+        }
+        provider = new CountingProvider();
+    }
+
+    @Benchmark
+    public int genData() {
+        registrate.genData(COUNTING, provider);
+        return provider.generated;
+    }
+}
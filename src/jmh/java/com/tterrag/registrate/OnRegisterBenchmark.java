@@ -0,0 +1,55 @@
+package com.tterrag.registrate;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.neoforged.neoforge.registries.RegisterEvent;
+
+/**
+ * Cost of {@link AbstractRegistrate#onRegister(RegisterEvent)} dispatch, with trivial entry factories and one register callback per entry. Registration can only happen once, so every invocation
+ * gets a fresh registrate and registry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 50)
+@Fork(1)
+public class OnRegisterBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    int entries;
+
+    private BenchmarkRegistrate registrate;
+    private RegisterEvent event;
+    private int callbacks;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        registrate = new BenchmarkRegistrate();
+        for (int i = 0; i < entries; i++) {
+            registrate.generic("entry_" + i, BenchmarkRegistrate.SYNTHETIC, Object::new)
+                    .onRegister($ -> callbacks++)
+                    .register();
+        }
+        event = BenchmarkRegistrate.registerEvent(BenchmarkRegistrate.SYNTHETIC, BenchmarkRegistrate.newRegistry(BenchmarkRegistrate.SYNTHETIC));
+    }
+
+    @Benchmark
+    public int onRegister() {
+        registrate.fire(event);
+        return callbacks;
+    }
+}
@@ -0,0 +1,70 @@
+package com.tterrag.registrate;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.minecraft.core.MappedRegistry;
+import net.neoforged.neoforge.registries.RegisterEvent;
+
+/**
+ * Startup cost of populating a registry of a few thousand synthetic entries with and without {@link AbstractRegistrate#constructInParallel(net.minecraft.resources.ResourceKey)}.
+ * <p>
+ * Each entry factory burns a configurable amount of CPU, standing in for block/item construction ({@code Properties} setup, state definitions, shape caches, ...). Registration itself is always
+ * sequential, so the difference between the two modes is the parallelizable share of startup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class ParallelConstructionBenchmark {
+
+    @Param({ "4000" })
+    int entries;
+
+    /** Work per entry factory, in {@link Blackhole#consumeCPU(long)} tokens */
+    @Param({ "0", "2000", "20000" })
+    long work;
+
+    @Param({ "false", "true" })
+    boolean parallel;
+
+    private BenchmarkRegistrate registrate;
+    private RegisterEvent event;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        registrate = new BenchmarkRegistrate();
+        if (parallel) {
+            registrate.constructInParallel(BenchmarkRegistrate.SYNTHETIC);
+        }
+        long work = this.work;
+        for (int i = 0; i < entries; i++) {
+            registrate.simple("block_" + i, BenchmarkRegistrate.SYNTHETIC, () -> {
+                Blackhole.consumeCPU(work);
+                return new Object();
+            });
+        }
+        MappedRegistry<Object> registry = BenchmarkRegistrate.newRegistry(BenchmarkRegistrate.SYNTHETIC);
+        event = BenchmarkRegistrate.registerEvent(BenchmarkRegistrate.SYNTHETIC, registry);
+    }
+
+    @Benchmark
+    public void register() {
+        registrate.fire(event);
+    }
+}
@@ -0,0 +1,102 @@
+package com.tterrag.registrate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.minecraft.tags.BlockTags;
+import net.minecraft.world.level.block.Block;
+
+/**
+ * Cost of declaring entries, i.e. the work done in static initializers of a mod using Registrate.
+ * <p>
+ * Each operation declares {@link #entries} entries on a fresh {@link AbstractRegistrate}, and {@link #getAll()} queries a registrate with that many entries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    int entries;
+
+    private String[] names;
+    private List<String> family;
+    private BenchmarkRegistrate populated;
+
+    @Setup
+    public void setup() {
+        names = new String[entries];
+        family = Arrays.asList(names);
+        populated = new BenchmarkRegistrate();
+        for (int i = 0; i < entries; i++) {
+            names[i] = "entry_" + i;
+            populated.simple(names[i], BenchmarkRegistrate.SYNTHETIC, Object::new);
+        }
+    }
+
+    /**
+     * A typical block declaration: {@code block().item().tag().lang().register()}.
+     */
+    @Benchmark
+    public BenchmarkRegistrate builderChain() {
+        BenchmarkRegistrate registrate = new BenchmarkRegistrate();
+        for (String name : names) {
+            registrate.object(name)
+                    .block(Block::new)
+                    .item()
+                        .build()
+                    .tag(BlockTags.MINEABLE_WITH_PICKAXE)
+                    .lang("Synthetic Block")
+                    .register();
+        }
+        return registrate;
+    }
+
+    /**
+     * The same declarations as {@link #builderChain()}, as one {@link AbstractRegistrate#family(Iterable, com.tterrag.registrate.util.nullness.NonNullBiFunction) family}.
+     */
+    @Benchmark
+    public BenchmarkRegistrate family() {
+        BenchmarkRegistrate registrate = new BenchmarkRegistrate();
+        registrate.family(family, (r, name) -> r.block(Block::new)
+                .item()
+                    .build()
+                .tag(BlockTags.MINEABLE_WITH_PICKAXE)
+                .lang("Synthetic Block")
+                .register());
+        return registrate;
+    }
+
+    /**
+     * The smallest possible declaration, which is dominated by {@link AbstractRegistrate#accept}.
+     */
+    @Benchmark
+    public BenchmarkRegistrate accept() {
+        BenchmarkRegistrate registrate = new BenchmarkRegistrate();
+        for (String name : names) {
+            registrate.simple(name, BenchmarkRegistrate.SYNTHETIC, Object::new);
+        }
+        return registrate;
+    }
+
+    @Benchmark
+    public Object getAll() {
+        return populated.getAll(BenchmarkRegistrate.SYNTHETIC);
+    }
+}
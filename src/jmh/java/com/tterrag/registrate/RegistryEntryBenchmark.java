@@ -0,0 +1,72 @@
+package com.tterrag.registrate;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tterrag.registrate.util.entry.RegistryEntry;
+
+import net.neoforged.neoforge.registries.DeferredHolder;
+
+/**
+ * Cost of {@link RegistryEntry#get()} on registered entries, cycling through {@link #entries} entries so that lookups are not all served from the same cache lines.
+ * <p>
+ * {@link #holder()} measures the resolution path {@link RegistryEntry#get()} used before it cached its value, going through the {@link DeferredHolder} with a capturing null check message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryEntryBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    int entries;
+
+    private RegistryEntry<?, ?>[] registered;
+    private DeferredHolder<?, ?>[] holders;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        BenchmarkRegistrate registrate = new BenchmarkRegistrate();
+        registered = new RegistryEntry[entries];
+        holders = new DeferredHolder[entries];
+        for (int i = 0; i < entries; i++) {
+            registered[i] = registrate.simple("entry_" + i, BenchmarkRegistrate.SYNTHETIC, Object::new);
+            holders[i] = DeferredHolder.create(registered[i].getKey());
+        }
+        registrate.fire(BenchmarkRegistrate.registerEvent(BenchmarkRegistrate.SYNTHETIC, BenchmarkRegistrate.SYNTHETIC_REGISTRY));
+    }
+
+    private int next() {
+        int i = cursor + 1;
+        if (i == entries) {
+            i = 0;
+        }
+        return cursor = i;
+    }
+
+    @Benchmark
+    public Object get() {
+        return registered[next()].get();
+    }
+
+    @Benchmark
+    public Object holder() {
+        DeferredHolder<?, ?> holder = holders[next()];
+        return Objects.requireNonNull(holder.get(), () -> "Registry entry not present: " + holder.getId());
+    }
+}
@@ -0,0 +1,109 @@
+package com.tterrag.registrate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tterrag.registrate.util.entry.RegistryEntry;
+import com.tterrag.registrate.util.entry.TagHandle;
+
+import net.minecraft.core.Holder;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.neoforged.neoforge.registries.DeferredHolder;
+
+/**
+ * Compares {@link RegistryEntry#hasTag(TagHandle)} against {@link Holder#is(TagKey)} through the entry's {@link DeferredHolder}, cycling through entries and tags. Each entry is in
+ * {@link #TAGS_PER_ENTRY} of the {@link #tags} tags, so roughly that fraction of checks succeed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagMembershipBenchmark {
+
+    private static final int TAGS_PER_ENTRY = 4;
+
+    @Param({ "100", "10000" })
+    int entries;
+
+    @Param({ "16", "128" })
+    int tags;
+
+    private RegistryEntry<Object, Object>[] registered;
+    private DeferredHolder<Object, Object>[] holders;
+    private TagKey<Object>[] keys;
+    private TagHandle<Object>[] handles;
+    private int cursor;
+    private int tagCursor;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setup() {
+        BenchmarkRegistrate registrate = new BenchmarkRegistrate();
+        registered = new RegistryEntry[entries];
+        holders = new DeferredHolder[entries];
+        for (int i = 0; i < entries; i++) {
+            registered[i] = registrate.simple("entry_" + i, BenchmarkRegistrate.SYNTHETIC, Object::new);
+            holders[i] = DeferredHolder.create(registered[i].getKey());
+        }
+        registrate.fire(BenchmarkRegistrate.registerEvent(BenchmarkRegistrate.SYNTHETIC, BenchmarkRegistrate.SYNTHETIC_REGISTRY));
+
+        keys = new TagKey[tags];
+        handles = new TagHandle[tags];
+        Map<TagKey<Object>, List<Holder<Object>>> bound = new HashMap<>();
+        for (int i = 0; i < tags; i++) {
+            keys[i] = TagKey.create(BenchmarkRegistrate.SYNTHETIC, new ResourceLocation(BenchmarkRegistrate.MODID, "tag_" + i));
+            handles[i] = TagHandle.of(keys[i]);
+            bound.put(keys[i], new ArrayList<>());
+        }
+        for (int i = 0; i < entries; i++) {
+            for (int j = 0; j < TAGS_PER_ENTRY; j++) {
+                bound.get(keys[(i * 7 + j) % tags]).add(BenchmarkRegistrate.SYNTHETIC_REGISTRY.getHolderOrThrow(registered[i].getKey()));
+            }
+        }
+        BenchmarkRegistrate.SYNTHETIC_REGISTRY.bindTags(bound);
+    }
+
+    private int next() {
+        int i = cursor + 1;
+        if (i == entries) {
+            i = 0;
+        }
+        return cursor = i;
+    }
+
+    private int nextTag() {
+        int i = tagCursor + 1;
+        if (i == tags) {
+            i = 0;
+        }
+        return tagCursor = i;
+    }
+
+    @Benchmark
+    public boolean hasTag() {
+        return registered[next()].hasTag(handles[nextTag()]);
+    }
+
+    @Benchmark
+    public boolean holderIs() {
+        return holders[next()].is(keys[nextTag()]);
+    }
+}
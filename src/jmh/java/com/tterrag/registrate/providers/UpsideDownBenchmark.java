@@ -0,0 +1,55 @@
+package com.tterrag.registrate.providers;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of {@link RegistrateLangProvider#toUpsideDown(String)} over {@link #entries} lang values, a mix of plain names and format strings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpsideDownBenchmark {
+
+    private static final String[] TEMPLATES = {
+            "Polished Andesite Stairs %d",
+            "Mechanical Crafter Mk. %d",
+            "%1$s requires %2$s to operate (%d left)",
+            "Encased Fan, Variant #%d",
+    };
+
+    @Param({ "100", "1000", "10000" })
+    int entries;
+
+    private String[] values;
+
+    @Setup
+    public void setup() {
+        values = new String[entries];
+        for (int i = 0; i < entries; i++) {
+            values[i] = TEMPLATES[i % TEMPLATES.length].replace("%d", Integer.toString(i));
+        }
+    }
+
+    @Benchmark
+    public void toUpsideDown(Blackhole bh) {
+        for (String value : values) {
+            bh.consume(RegistrateLangProvider.toUpsideDown(value));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.tterrag.registrate.util;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Table;
+
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Compares {@link DataGeneratorIndex} against the {@link HashBasedTable} + {@link ArrayListMultimap} pair it replaced in {@code AbstractRegistrate}, for finding the entry of a generator (done for
+ * every generator when debug logging is enabled) and for replacing the generator of an entry ({@code setDataGenerator} on an entry that already has one).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataGeneratorIndexBenchmark {
+
+    private static final String TYPE = "blockstate";
+    private static final ResourceKey<? extends Registry<?>> REGISTRY = ResourceKey.createRegistryKey(new ResourceLocation("registrate_bench", "synthetic"));
+
+    @Param({ "1000", "10000" })
+    int entries;
+
+    private Pair<String, ResourceKey<? extends Registry<?>>>[] keys;
+    private Object[] generators;
+
+    private Table<Pair<String, ResourceKey<? extends Registry<?>>>, String, Object> byEntry;
+    private ListMultimap<String, Object> byType;
+    private DataGeneratorIndex<Pair<String, ResourceKey<? extends Registry<?>>>, String, Object> index;
+
+    private int cursor;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setup() {
+        keys = new Pair[entries];
+        generators = new Object[entries];
+        byEntry = HashBasedTable.create();
+        byType = ArrayListMultimap.create();
+        index = new DataGeneratorIndex<>();
+        for (int i = 0; i < entries; i++) {
+            keys[i] = Pair.of("entry_" + i, REGISTRY);
+            generators[i] = new Object();
+            byEntry.put(keys[i], TYPE, generators[i]);
+            byType.put(TYPE, generators[i]);
+            index.put(keys[i], TYPE, generators[i]);
+        }
+    }
+
+    private int next() {
+        int i = cursor + 1;
+        if (i == entries) {
+            i = 0;
+        }
+        return cursor = i;
+    }
+
+    @Benchmark
+    public Object ownerLookupTable() {
+        Object generator = generators[next()];
+        for (Map.Entry<Pair<String, ResourceKey<? extends Registry<?>>>, Object> e : byEntry.column(TYPE).entrySet()) {
+            if (e.getValue() == generator) {
+                return e.getKey();
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Object ownerLookupIndex() {
+        return index.getOwner(TYPE, generators[next()]);
+    }
+
+    @Benchmark
+    public Object replaceTable() {
+        int i = next();
+        Object replacement = new Object();
+        Object existing = byEntry.put(keys[i], TYPE, replacement);
+        if (existing != null) {
+            byType.remove(TYPE, existing);
+        }
+        byType.put(TYPE, replacement);
+        return existing;
+    }
+
+    @Benchmark
+    public Object replaceIndex() {
+        int i = next();
+        return index.put(keys[i], TYPE, new Object());
+    }
+}
@@ -0,0 +1,111 @@
+package com.tterrag.registrate.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.Table;
+
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Compares {@link RegistrationStore} against the {@link HashBasedTable} it replaced in {@code AbstractRegistrate}, for point lookups ({@code get}/{@code getOptional}) and per-registry iteration
+ * ({@code getAll}/{@code onRegister}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistrationStoreBenchmark {
+
+    /** Spread entries over a handful of registries, roughly the shape of a content mod (blocks, items, block entities, ...) */
+    private static final int REGISTRIES = 4;
+
+    @Param({ "1000", "14000" })
+    int entries;
+
+    private List<ResourceKey<? extends Registry<?>>> types;
+    private String[] names;
+    private ResourceKey<? extends Registry<?>>[] lookupTypes;
+
+    private Table<ResourceKey<? extends Registry<?>>, String, Object> table;
+    private RegistrationStore<Object> store;
+
+    private int cursor;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setup() {
+        types = new ArrayList<>();
+        for (int i = 0; i < REGISTRIES; i++) {
+            types.add(ResourceKey.createRegistryKey(new ResourceLocation("registrate_bench", "registry_" + i)));
+        }
+        table = HashBasedTable.create();
+        store = new RegistrationStore<>();
+        names = new String[entries];
+        lookupTypes = new ResourceKey[entries];
+        for (int i = 0; i < entries; i++) {
+            ResourceKey<? extends Registry<?>> type = types.get(i % REGISTRIES);
+            String name = "entry_" + (i / REGISTRIES);
+            Object value = new Object();
+            table.put(type, name, value);
+            store.put(type, name, value);
+            names[i] = name;
+            lookupTypes[i] = type;
+        }
+    }
+
+    private int next() {
+        int i = cursor + 1;
+        if (i == entries) {
+            i = 0;
+        }
+        return cursor = i;
+    }
+
+    @Benchmark
+    public Object lookupTable() {
+        int i = next();
+        return table.get(lookupTypes[i], names[i]);
+    }
+
+    @Benchmark
+    public Object lookupStore() {
+        int i = next();
+        return store.get(lookupTypes[i], names[i]);
+    }
+
+    @Benchmark
+    public void iterateTable(Blackhole bh) {
+        for (ResourceKey<? extends Registry<?>> type : types) {
+            for (Object value : table.row(type).values()) {
+                bh.consume(value);
+            }
+        }
+    }
+
+    @Benchmark
+    public void iterateStore(Blackhole bh) {
+        for (ResourceKey<? extends Registry<?>> type : types) {
+            store.forEach(type, bh::consume);
+        }
+    }
+}
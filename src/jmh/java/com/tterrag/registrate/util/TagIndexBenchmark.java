@@ -0,0 +1,95 @@
+package com.tterrag.registrate.util;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tterrag.registrate.providers.ProviderType;
+
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagBuilder;
+import net.minecraft.tags.TagEntry;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.block.Block;
+
+/**
+ * Compares generating tags through {@link TagIndex} against the per-entry generators it replaced in {@code AbstractBuilder#tag}. The tag provider is modeled by its map of tag builders, which
+ * {@code TagsProvider#tag} looks up (and wraps in a new appender) on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagIndexBenchmark {
+
+    /** Tags per entry, like a block that is mineable with a tool and needs a tool level */
+    private static final int TAGS_PER_ENTRY = 2;
+
+    @Param({ "1000", "10000" })
+    int entries;
+
+    @Param({ "8" })
+    int tags;
+
+    private ResourceLocation[] ids;
+    private TagKey<Block>[][] entryTags;
+    private TagIndex index;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setup() {
+        TagKey<Block>[] keys = new TagKey[tags];
+        for (int i = 0; i < tags; i++) {
+            keys[i] = TagKey.create(Registries.BLOCK, new ResourceLocation("registrate_bench", "tag_" + i));
+        }
+        ids = new ResourceLocation[entries];
+        entryTags = new TagKey[entries][TAGS_PER_ENTRY];
+        index = new TagIndex();
+        for (int i = 0; i < entries; i++) {
+            ids[i] = new ResourceLocation("registrate_bench", "entry_" + i);
+            for (int j = 0; j < TAGS_PER_ENTRY; j++) {
+                entryTags[i][j] = keys[(i + j) % tags];
+                index.add(ProviderType.BLOCK_TAGS, entryTags[i][j], ids[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object perEntry() {
+        Map<ResourceLocation, TagBuilder> builders = new LinkedHashMap<>();
+        for (int i = 0; i < entries; i++) {
+            for (TagKey<Block> tag : entryTags[i]) {
+                builders.computeIfAbsent(tag.location(), $ -> TagBuilder.create()).add(TagEntry.element(ids[i]));
+            }
+        }
+        return builders;
+    }
+
+    @Benchmark
+    public Object indexed() {
+        Map<ResourceLocation, TagBuilder> builders = new LinkedHashMap<>();
+        for (Map.Entry<TagKey<?>, List<ResourceLocation>> e : index.get(ProviderType.BLOCK_TAGS).entrySet()) {
+            TagBuilder builder = builders.computeIfAbsent(e.getKey().location(), $ -> TagBuilder.create());
+            for (ResourceLocation id : e.getValue()) {
+                builder.add(TagEntry.element(id));
+            }
+        }
+        return builders;
+    }
+}
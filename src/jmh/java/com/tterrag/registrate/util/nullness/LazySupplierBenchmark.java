@@ -0,0 +1,115 @@
+package com.tterrag.registrate.util.nullness;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.neoforged.neoforge.common.util.Lazy;
+
+/**
+ * Compares the {@link LazySupplier} variants against the {@code Lazy.of(sup)::get} that {@link NonNullSupplier#lazy(java.util.function.Supplier)} used to return.
+ * <p>
+ * The {@code get*} benchmarks read already computed suppliers shared by all threads, from one thread and from four at once. The {@code create*} benchmarks create and read a new supplier each time,
+ * which is the cost paid per registration and builder (run with {@code -prof gc} to see allocation).
+ * <p>
+ * The contended benchmarks only measure contention on a machine with at least {@value #CONTENDED_THREADS} cores, with fewer the threads are time-sliced instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazySupplierBenchmark {
+
+    private static final int CONTENDED_THREADS = 4;
+
+    private final Object value = new Object();
+    private final NonNullSupplier<Object> delegate = () -> value;
+
+    private NonNullSupplier<Object> neoforge;
+    private NonNullSupplier<Object> single;
+    private NonNullSupplier<Object> racy;
+    private NonNullSupplier<Object> locked;
+
+    @Setup
+    public void setup() {
+        neoforge = Lazy.of(delegate)::get;
+        single = LazySupplier.single(delegate);
+        racy = LazySupplier.racy(delegate);
+        locked = LazySupplier.locked(delegate);
+        neoforge.get();
+        single.get();
+        racy.get();
+        locked.get();
+    }
+
+    @Benchmark
+    public Object getNeoForge() {
+        return neoforge.get();
+    }
+
+    @Benchmark
+    public Object getSingle() {
+        return single.get();
+    }
+
+    @Benchmark
+    public Object getRacy() {
+        return racy.get();
+    }
+
+    @Benchmark
+    public Object getLocked() {
+        return locked.get();
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public Object getNeoForgeContended() {
+        return neoforge.get();
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public Object getRacyContended() {
+        return racy.get();
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public Object getLockedContended() {
+        return locked.get();
+    }
+
+    @Benchmark
+    public Object createNeoForge() {
+        NonNullSupplier<Object> ret = Lazy.of(delegate)::get;
+        return ret.get();
+    }
+
+    @Benchmark
+    public Object createSingle() {
+        return LazySupplier.single(delegate).get();
+    }
+
+    @Benchmark
+    public Object createRacy() {
+        return LazySupplier.racy(delegate).get();
+    }
+
+    @Benchmark
+    public Object createLocked() {
+        return LazySupplier.locked(delegate).get();
+    }
+}
@@ -2,17 +2,22 @@ package com.tterrag.registrate;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -22,6 +27,7 @@ import lombok.Setter;
 import net.minecraft.client.multiplayer.ClientPacketListener;
 import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.IEventBus;
+import net.neoforged.fml.ModLoadingContext;
 import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.neoforged.fml.loading.FMLEnvironment;
 import net.neoforged.neoforge.data.event.GatherDataEvent;
@@ -37,14 +43,17 @@ import net.neoforged.neoforge.registries.RegistryBuilder;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.message.Message;
+import org.jetbrains.annotations.ApiStatus;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.HashMultimap;
-import com.google.common.collect.ListMultimap;
+import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Table;
+import com.google.common.collect.Multimaps;
+import com.google.common.collect.Multiset;
+import com.google.common.hash.HashCode;
+import com.google.common.util.concurrent.Striped;
 import com.tterrag.registrate.builders.BlockBuilder;
 import com.tterrag.registrate.builders.BlockEntityBuilder;
 import com.tterrag.registrate.builders.BlockEntityBuilder.BlockEntityFactory;
@@ -60,15 +69,30 @@ import com.tterrag.registrate.builders.MenuBuilder.ForgeMenuFactory;
 import com.tterrag.registrate.builders.MenuBuilder.MenuFactory;
 import com.tterrag.registrate.builders.MenuBuilder.ScreenFactory;
 import com.tterrag.registrate.builders.NoConfigBuilder;
+import com.tterrag.registrate.providers.IncrementalDatagen;
 import com.tterrag.registrate.providers.ProviderType;
 import com.tterrag.registrate.providers.RegistrateDataProvider;
 import com.tterrag.registrate.providers.RegistrateLangProvider;
+import com.tterrag.registrate.providers.RegistrateLocalesProvider;
 import com.tterrag.registrate.providers.RegistrateProvider;
+import com.tterrag.registrate.providers.RegistrateRecipeProvider;
+import com.tterrag.registrate.providers.RegistrateTagsProvider;
+import com.tterrag.registrate.util.CaptureLanes;
+import com.tterrag.registrate.util.ClientRegistrationSink;
+import com.tterrag.registrate.util.CreativeModeTabContents;
 import com.tterrag.registrate.util.CreativeModeTabModifier;
+import com.tterrag.registrate.util.DataGeneratorIndex;
+import com.tterrag.registrate.util.DatagenFingerprinter;
 import com.tterrag.registrate.util.DebugMarkers;
+import com.tterrag.registrate.util.EntityRegistrationSink;
 import com.tterrag.registrate.util.OneTimeEventReceiver;
+import com.tterrag.registrate.util.RegistrateProfiler;
+import com.tterrag.registrate.util.RegistrateProfiler.Phase;
+import com.tterrag.registrate.util.RegistrationStore;
+import com.tterrag.registrate.util.TagIndex;
 import com.tterrag.registrate.util.entry.ItemEntry;
 import com.tterrag.registrate.util.entry.RegistryEntry;
+import com.tterrag.registrate.util.nullness.LazySupplier;
 import com.tterrag.registrate.util.nullness.NonNullBiFunction;
 import com.tterrag.registrate.util.nullness.NonNullConsumer;
 import com.tterrag.registrate.util.nullness.NonNullFunction;
@@ -79,16 +103,20 @@ import com.tterrag.registrate.util.nullness.NonnullType;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Value;
+import lombok.experimental.NonFinal;
 import lombok.extern.log4j.Log4j2;
 import net.minecraft.Util;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.gui.screens.inventory.MenuAccess;
 import net.minecraft.core.Registry;
 import net.minecraft.core.registries.Registries;
+import net.minecraft.data.PackOutput;
+import net.minecraft.data.tags.TagsProvider;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType.EntityFactory;
 import net.minecraft.world.entity.MobCategory;
@@ -108,7 +136,8 @@ import net.minecraft.world.level.block.state.BlockBehaviour;
 /**
  * Manages all registrations and data generators for a mod.
  * <p>
- * Generally <em>not</em> thread-safe, as it holds the current name of the object being built statefully, and uses non-concurrent collections.
+ * Generally <em>not</em> thread-safe, as it holds the current name of the object being built statefully, and uses non-concurrent collections. See {@link #concurrentCapture()} for declaring entries from
+ * several threads.
  * <p>
  * Begin a new object via {@link #object(String)}. This name will be used for all future entries until the next invocation of {@link #object(String)}. Alternatively, the methods that accept a name
  * parameter (such as {@link #block(String, NonNullFunction)}) can be used. These do not affect the current name state.
@@ -136,11 +165,19 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
     private class Registration<R, T extends R> {
         ResourceLocation name;
         ResourceKey<? extends Registry<R>> type;
+        /** Cleared by {@link #release()} */
+        @NonFinal
         NonNullSupplier<? extends T> creator;
         RegistryEntry<R, T> delegate;
 
         @Getter(value = AccessLevel.NONE)
+        @NonFinal
         List<NonNullConsumer<? super T>> callbacks = new ArrayList<>();
+        /** Error thrown by the creator during parallel construction, rethrown by {@link #register(RegisterEvent)} rather than invoking the creator again */
+        @Getter(value = AccessLevel.NONE)
+        @NonFinal
+        @Nullable
+        Exception constructError;
 
         Registration(ResourceLocation name, ResourceKey<? extends Registry<R>> type, NonNullSupplier<? extends T> creator, NonNullFunction<DeferredHolder<R, T>, ? extends RegistryEntry<R, T>> entryFactory) {
             this.name = name;
@@ -149,11 +186,35 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
             this.delegate = entryFactory.apply(DeferredHolder.create(type, name));
         }
 
+        /**
+         * Resolve the (lazy) creator ahead of {@link #register(RegisterEvent)}, used by parallel construction. Safe to call from any thread, provided each registration is only constructed by one
+         * thread at a time.
+         */
+        void construct() {
+            long start = RegistrateProfiler.start();
+            try {
+                creator.get();
+            } catch (Exception ex) {
+                constructError = ex;
+                log.warn(DebugMarkers.REGISTER, "Error while constructing entry {} in parallel, it will be reported when registering", name, ex);
+            }
+            RegistrateProfiler.record(getModid(), type.location(), Phase.CONSTRUCT, name, start);
+        }
+
         void register(RegisterEvent event) {
+            long start = RegistrateProfiler.start();
+            if (constructError != null) {
+                throw new IllegalStateException("Failed to construct entry " + name + " in parallel", constructError);
+            }
             T entry = creator.get();
             event.register(type, rh -> rh.register(name, entry));
 //            delegate.updateReference(event);
-            callbacks.forEach(c -> c.accept(entry));
+            RegistrateProfiler.record(getModid(), type.location(), Phase.REGISTER, name, start);
+            for (NonNullConsumer<? super T> callback : callbacks) {
+                long callbackStart = RegistrateProfiler.start();
+                callback.accept(entry);
+                RegistrateProfiler.record(getModid(), type.location(), Phase.CALLBACK, name, callbackStart);
+            }
             callbacks.clear();
         }
 
@@ -161,6 +222,14 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
             Preconditions.checkNotNull(callback, "Callback must not be null");
             callbacks.add(callback);
         }
+
+        /**
+         * Drop the creator and callbacks, which capture the builder until they are run, once this entry can no longer be registered.
+         */
+        void release() {
+            creator = null;
+            callbacks = new ArrayList<>(0);
+        }
     }
 
     /**
@@ -172,19 +241,36 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
         return FMLEnvironment.naming.equals("mcp");
     }
 
-    private final Table<ResourceKey<? extends Registry<?>>, String, Registration<?, ?>> registrations = HashBasedTable.create();
+    /** Replaced by its compacted form in {@link #compact()} */
+    private RegistrationStore<Registration<?, ?>> registrations = new RegistrationStore<>();
+    /** Replaces {@link #registrations} in {@link #concurrentCapture() concurrent capture} mode */
+    @Nullable
+    private CaptureLanes<Registration<?, ?>> captureLanes;
+    /** Guards the register callbacks of each entry in {@link #concurrentCapture() concurrent capture} mode */
+    @Nullable
+    private Striped<Lock> captureLocks;
     /** Expected to be emptied by the time registration occurs, is emptied by {@link #accept(String, ResourceKey, Builder, NonNullSupplier, NonNullFunction)} */
-    private final Multimap<Pair<String, ResourceKey<? extends Registry<?>>>, NonNullConsumer<?>> registerCallbacks = HashMultimap.create();
+    private Multimap<Pair<String, ResourceKey<? extends Registry<?>>>, NonNullConsumer<?>> registerCallbacks = HashMultimap.create();
     /** Entry-less callbacks that are invoked after the registry type has completely finished */
-    private final Multimap<ResourceKey<? extends Registry<?>>, Runnable> afterRegisterCallbacks = HashMultimap.create();
+    private Multimap<ResourceKey<? extends Registry<?>>, Runnable> afterRegisterCallbacks = HashMultimap.create();
     private final Set<ResourceKey<? extends Registry<?>>> completedRegistrations = new HashSet<>();
-
-    private final Table<Pair<String, ResourceKey<? extends Registry<?>>>, ProviderType<?>, Consumer<? extends RegistrateProvider>> datagensByEntry = HashBasedTable.create();
-    private final ListMultimap<ProviderType<?>, @NonnullType NonNullConsumer<? extends RegistrateProvider>> datagens = ArrayListMultimap.create();
-    private final Multimap<ResourceKey<CreativeModeTab>, Consumer<CreativeModeTabModifier>> creativeModeTabModifiers = ArrayListMultimap.create();
+    /** Registries whose objects call {@code createIntrusiveHolder} on construction, which writes to an unsynchronized map of the registry */
+    private static final Set<ResourceKey<? extends Registry<?>>> INTRUSIVE_HOLDER_REGISTRIES = Set.of(Registries.BLOCK, Registries.ITEM, Registries.FLUID, Registries.ENTITY_TYPE,
+            Registries.BLOCK_ENTITY_TYPE, Registries.GAME_EVENT);
+
+    /** Registry types whose entries are constructed on the common {@link ForkJoinPool} before being registered, see {@link #constructInParallel(ResourceKey)} */
+    private final Set<ResourceKey<? extends Registry<?>>> parallelConstruction = new HashSet<>();
+
+    /** Data generators by provider type, in order, optionally owned by the (name, registry) of an entry */
+    private final DataGeneratorIndex<Pair<String, ResourceKey<? extends Registry<?>>>, ProviderType<?>, @NonnullType NonNullConsumer<? extends RegistrateProvider>> datagens = new DataGeneratorIndex<>();
+    private Multimap<ResourceKey<CreativeModeTab>, Consumer<CreativeModeTabModifier>> creativeModeTabModifiers = ArrayListMultimap.create();
+    /** Guarded by {@link #creativeModeTabModifiers} */
+    private final CreativeModeTabContents creativeModeTabContents = new CreativeModeTabContents();
+    /** Whether creative tab contents are cached, see {@link #cacheCreativeModeTabContents(boolean)}. Guarded by {@link #creativeModeTabModifiers} */
+    private boolean cacheCreativeModeTabContents;
     private ResourceKey<CreativeModeTab> defaultCreativeModeTab = CreativeModeTabs.SEARCH;
 
-    private final NonNullSupplier<Boolean> doDatagen = NonNullSupplier.lazy(DatagenModLoader::isRunningDataGen);
+    private final NonNullSupplier<Boolean> doDatagen = LazySupplier.racy(DatagenModLoader::isRunningDataGen);
 
     /**
      * The mod ID that this {@link AbstractRegistrate} is creating objects for
@@ -200,7 +286,46 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 
     @Nullable
     private String currentName;
+    /** Replaces {@link #currentName} in {@link #concurrentCapture() concurrent capture} mode */
+    @Nullable
+    private ThreadLocal<String> threadNames;
+    /** Registry types captured while registering the first member of a {@link #family(Iterable, NonNullFunction, NonNullBiFunction) family}, never set in concurrent capture mode */
+    @Nullable
+    private Multiset<ResourceKey<? extends Registry<?>>> familyCapture;
     private boolean skipErrors;
+    /**
+     * The executor that independent data providers run on, or {@code null} to run them one at a time. See {@link #parallelDatagen(Executor)}.
+     */
+    @Getter
+    @Nullable
+    private Executor datagenExecutor;
+    /**
+     * Whether data generation is incremental, see {@link #incrementalDatagen(boolean)}.
+     */
+    @Getter
+    private boolean incrementalDatagen;
+    /**
+     * Number of shards recipe generators are split into, see {@link #recipeShards(int)}.
+     */
+    @Getter
+    private int recipeShards = 1;
+    /**
+     * Whether loot sub-providers build their tables in parallel, see {@link #parallelLoot(boolean)}.
+     */
+    @Getter
+    private boolean parallelLoot;
+    /** Tags added by builders, see {@link #addTagEntry(ProviderType, TagKey, ResourceLocation)} */
+    private final TagIndex tagIndex = new TagIndex();
+    /** Client-side registrations queued by builders, see {@link #getClientSink()} */
+    private final ClientRegistrationSink clientSink = new ClientRegistrationSink(this);
+    /** Entity attributes and spawn placements queued by builders, see {@link #getEntitySink()} */
+    private final EntityRegistrationSink entitySink = new EntityRegistrationSink(this);
+    /** Additional locales to generate lang files for, see {@link #locales(String...)} */
+    private final Set<String> locales = new LinkedHashSet<>();
+    /** The type of the data generator running on the current thread, see {@link #runDataGenerator(ProviderType, NonNullConsumer, RegistrateProvider)} */
+    private final ThreadLocal<ProviderType<?>> generatingType = new ThreadLocal<>();
+    /** The key of the data generator running on the current thread, only tracked for incremental datagen, see {@link IncrementalDatagen#key(ResourceKey, String)} */
+    private final ThreadLocal<String> generatingKey = new ThreadLocal<>();
 
     /**
      * Construct a new Registrate for the given mod ID.
@@ -240,9 +365,13 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
         modEventBus.addListener(this::onBuildCreativeModeTabContents); // Fired multiple times when ever tabs need contents rebuilt (changing op tab perms for example)
         
         // Register events fire multiple times, so clean them up on common setup
-        OneTimeEventReceiver.addModListener(this, FMLCommonSetupEvent.class, $ -> {
+        OneTimeEventReceiver.addModListener(this, FMLCommonSetupEvent.class, e -> {
             OneTimeEventReceiver.unregister(this, onRegister, RegisterEvent.class);
             OneTimeEventReceiver.unregister(this, onRegisterLate, RegisterEvent.class);
+            // Data generators still need the builders, and run after common setup
+            if (!doDatagen.get()) {
+                e.enqueueWork(this::compact);
+            }
         });
 
         if (doDatagen.get()) {
@@ -265,22 +394,27 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
             log.debug(DebugMarkers.REGISTER, "Skipping invalid registry with no supertype: " + event.getRegistryKey().location());
             return;
         }
-        if (!registerCallbacks.isEmpty()) {
-            registerCallbacks.asMap().forEach((k, v) -> log.warn("Found {} unused register callback(s) for entry {} [{}]. Was the entry ever registered?", v.size(), k.getLeft(), k.getRight().location()));
-            registerCallbacks.clear();
-            if (isDevEnvironment()) {
-                throw new IllegalStateException("Found unused register callbacks, see logs");
+        synchronized (registerCallbacks) {
+            if (!registerCallbacks.isEmpty()) {
+                registerCallbacks.asMap().forEach((k, v) -> log.warn("Found {} unused register callback(s) for entry {} [{}]. Was the entry ever registered?", v.size(), k.getLeft(), k.getRight().location()));
+                registerCallbacks.clear();
+                if (isDevEnvironment()) {
+                    throw new IllegalStateException("Found unused register callbacks, see logs");
+                }
             }
         }
-        Map<String, Registration<?, ?>> registrationsForType = registrations.row(type);
+        List<Registration<?, ?>> registrationsForType = getRegistrations(type);
         if (registrationsForType.size() > 0) {
             log.debug(DebugMarkers.REGISTER, "({}) Registering {} known objects of type {}", getModid(), registrationsForType.size(), type.location());
-            for (Entry<String, Registration<?, ?>> e : registrationsForType.entrySet()) {
+            if (registrationsForType.size() > 1 && parallelConstruction.contains(type)) {
+                constructEntries(type, registrationsForType);
+            }
+            for (Registration<?, ?> reg : registrationsForType) {
                 try {
-                    e.getValue().register(event);
-                    log.debug(DebugMarkers.REGISTER, "Registered {} to registry {}", e.getValue().getName(), event.getRegistryKey().location());
+                    reg.register(event);
+                    log.debug(DebugMarkers.REGISTER, "Registered {} to registry {}", reg.getName(), event.getRegistryKey().location());
                 } catch (Exception ex) {
-                    String err = "Unexpected error while registering entry " + e.getValue().getName() + " to registry " + event.getRegistryKey().location();
+                    String err = "Unexpected error while registering entry " + reg.getName() + " to registry " + event.getRegistryKey().location();
                     if (skipErrors) {
                         log.error(DebugMarkers.REGISTER, err);
                     } else {
@@ -291,6 +425,16 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
         }
     }
 
+    /**
+     * Construct all entries for the given registry on the common {@link ForkJoinPool}, ahead of the sequential registration pass in {@link #onRegister(RegisterEvent)}.
+     * <p>
+     * A creator that fails is not invoked again. Its error is logged here, and rethrown by the sequential pass, which reports it (or skips it) in the usual way and in the usual order.
+     */
+    private void constructEntries(ResourceKey<? extends Registry<?>> type, List<Registration<?, ?>> registrationsForType) {
+        log.debug(DebugMarkers.REGISTER, "({}) Constructing {} objects of type {} in parallel", getModid(), registrationsForType.size(), type.location());
+        registrationsForType.parallelStream().forEach(Registration::construct);
+    }
+
     /**
      * Called once per registry at the {@link EventPriority#LOWEST lowest priority} to perform any actions that must happen after all other entries have been registered, including from other mods. May
      * be overriden in custom implementations to perform additional actions upon entry registration, but <i>must</i> call {@code super}.
@@ -300,12 +444,49 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
      */
     protected void onRegisterLate(RegisterEvent event) {
         ResourceKey<? extends Registry<?>> type = event.getRegistryKey();
-        Collection<Runnable> callbacks = afterRegisterCallbacks.get(type);
-        callbacks.forEach(Runnable::run);
-        callbacks.clear();
+        List<Runnable> callbacks;
+        synchronized (afterRegisterCallbacks) {
+            callbacks = new ArrayList<>(afterRegisterCallbacks.removeAll(type));
+        }
+        for (Runnable callback : callbacks) {
+            long start = RegistrateProfiler.start();
+            callback.run();
+            RegistrateProfiler.record(getModid(), type.location(), Phase.AFTER_REGISTER, null, start);
+        }
         completedRegistrations.add(type);
     }
 
+    /**
+     * Called once on the main thread after common setup, outside of data generation, to release everything only needed to register entries. Creators and register callbacks, which may capture
+     * builders, are dropped, and the registrations are compacted into an immutable index, after which no more entries can be added. Lookups such as {@link #get(String, ResourceKey)} keep working.
+     * <p>
+     * May be overriden in custom implementations to release additional state, but <i>must</i> call {@code super}.
+     */
+    protected void compact() {
+        long heapBefore = RegistrateProfiler.ENABLED ? RegistrateProfiler.usedHeapAfterGc() : 0;
+        if (captureLanes != null) {
+            registrations = captureLanes.toStore();
+            captureLanes = null;
+            captureLocks = null;
+        }
+        registrations.forEach(Registration::release);
+        registrations.compact();
+        int pendingCallbacks;
+        synchronized (registerCallbacks) {
+            pendingCallbacks = registerCallbacks.size();
+            registerCallbacks.clear();
+        }
+        synchronized (afterRegisterCallbacks) {
+            pendingCallbacks += afterRegisterCallbacks.size();
+            afterRegisterCallbacks.clear();
+        }
+        familyCapture = null;
+        log.debug(DebugMarkers.REGISTER, "({}) Compacted {} registrations, dropping {} callbacks that never ran", getModid(), registrations.size(), pendingCallbacks);
+        if (RegistrateProfiler.ENABLED) {
+            log.info("({}) Heap in use went from {} KiB to {} KiB after compacting registrations", getModid(), heapBefore >> 10, RegistrateProfiler.usedHeapAfterGc() >> 10);
+        }
+    }
+
     /**
      * Called when a {@link CreativeModeTab} is being populated to fill in any entries that belong there. Can be overriden in custom implementations.
      * 
@@ -313,11 +494,52 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
      *            The event
      */
     protected void onBuildCreativeModeTabContents(BuildCreativeModeTabContentsEvent event) {
-        var modifier = new CreativeModeTabModifier(event::getFlags, event::hasPermissions, event::accept);
+        synchronized (creativeModeTabModifiers) {
+            Collection<Consumer<CreativeModeTabModifier>> modifiers = creativeModeTabModifiers.get(event.getTabKey());
+            if (modifiers.isEmpty()) {
+                return;
+            }
+            if (cacheCreativeModeTabContents) {
+                creativeModeTabContents.build(event, modifiers);
+            } else {
+                var modifier = new CreativeModeTabModifier(event::getFlags, event::hasPermissions, event::accept);
+                modifiers.forEach(m -> m.accept(modifier));
+            }
+        }
+    }
 
-        creativeModeTabModifiers.forEach((key, value) -> {
-            if(event.getTabKey().equals(key)) value.accept(modifier);
-        });
+    /**
+     * Cache the items added by {@link #modifyCreativeModeTab(ResourceKey, Consumer) modifiers} per tab, and replay them on later rebuilds rather than running the modifiers again, for as long as the
+     * enabled feature flags and the operator permission of the player are unchanged.
+     * <p>
+     * Only enable this if all modifiers depend on nothing but those two inputs. Modifiers which depend on any other state, such as a config option, need
+     * {@link #invalidateCreativeModeTabContents()} to be called whenever that state changes, or they keep showing stale contents.
+     *
+     * @param cache
+     *            {@code true} to cache creative tab contents, {@code false} to run modifiers on every rebuild (the default)
+     * @return This {@link AbstractRegistrate} instance
+     */
+    public S cacheCreativeModeTabContents(boolean cache) {
+        synchronized (creativeModeTabModifiers) {
+            this.cacheCreativeModeTabContents = cache;
+            creativeModeTabContents.invalidateAll();
+        }
+        return self();
+    }
+
+    /**
+     * Discard the cached contents of all creative tabs, so that all {@link #modifyCreativeModeTab(ResourceKey, Consumer) modifiers} run again the next time tab contents are built. Only has an
+     * effect with {@link #cacheCreativeModeTabContents(boolean)}.
+     * <p>
+     * This must be called if modifiers depend on any state besides the enabled feature flags and the operator permission of the player, such as a config option, when that state changes.
+     *
+     * @return This {@link AbstractRegistrate} instance
+     */
+    public S invalidateCreativeModeTabContents() {
+        synchronized (creativeModeTabModifiers) {
+            creativeModeTabContents.invalidateAll();
+        }
+        return self();
     }
 
     @Nullable
@@ -341,7 +563,7 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
      *             if {@link #currentName} is null
      */
     protected String currentName() {
-        String name = currentName;
+        String name = threadNames == null ? currentName : threadNames.get();
         Objects.requireNonNull(name, "Current name not set");
         return name;
     }
@@ -430,7 +652,14 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
     @SuppressWarnings("unchecked")
     @Nullable
     private <R, T extends R> Registration<R, T> getRegistrationUnchecked(String name, ResourceKey<? extends Registry<R>> type) {
-        return (Registration<R, T>) registrations.get(type, name);
+        return (Registration<R, T>) (captureLanes == null ? registrations.get(type, name) : captureLanes.get(type, name));
+    }
+
+    /**
+     * @return All registrations for the given registry, in order
+     */
+    private List<Registration<?, ?>> getRegistrations(ResourceKey<? extends Registry<?>> type) {
+        return captureLanes == null ? registrations.getAll(type) : captureLanes.getAll(type);
     }
 
     private <R, T extends R> Registration<R, T> getRegistration(String name, ResourceKey<? extends Registry<R>> type) {
@@ -454,7 +683,12 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
      */
     @SuppressWarnings({ "null", "unchecked" })
     public <R, T extends R> Collection<RegistryEntry<R, T>> getAll(ResourceKey<? extends Registry<R>> type) {
-        return registrations.row(type).values().stream().map(r -> (RegistryEntry<R, T>) r.getDelegate()).collect(Collectors.toList());
+        List<Registration<?, ?>> registrationsForType = getRegistrations(type);
+        List<RegistryEntry<R, T>> ret = new ArrayList<>(registrationsForType.size());
+        for (Registration<?, ?> reg : registrationsForType) {
+            ret.add((RegistryEntry<R, T>) reg.getDelegate());
+        }
+        return ret;
     }
 
     /**
@@ -473,11 +707,21 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
      * @return This {@link AbstractRegistrate} instance
      */
     public <R, T extends R> S addRegisterCallback(String name, ResourceKey<? extends Registry<R>> registryType, NonNullConsumer<? super T> callback) {
-        Registration<R, T> reg = this.<R, T>getRegistrationUnchecked(name, registryType);
-        if (reg == null) {
-            registerCallbacks.put(Pair.of(name, registryType), (NonNullConsumer<?>) callback);
-        } else {
-            reg.addRegisterCallback(callback);
+        Lock lock = captureLocks == null ? null : captureLocks.get(Pair.of(name, registryType));
+        if (lock != null) {
+            lock.lock();
+        }
+        try {
+            Registration<R, T> reg = this.<R, T>getRegistrationUnchecked(name, registryType);
+            if (reg == null) {
+                registerCallbacks.put(Pair.of(name, registryType), (NonNullConsumer<?>) callback);
+            } else {
+                reg.addRegisterCallback(callback);
+            }
+        } finally {
+            if (lock != null) {
+                lock.unlock();
+            }
         }
         return self();
     }
@@ -511,6 +755,7 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
         return completedRegistrations.contains(registryType);
     }
 
+
     /**
      * Get the data provider instance for a given {@link ProviderType}. Only works within datagen context, not during registration or init.
      *
@@ -568,12 +813,11 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
      */
     public <P extends RegistrateProvider, R> S setDataGenerator(String entry, ResourceKey<? extends Registry<R>> registryType, ProviderType<? extends P> type, NonNullConsumer<? extends P> cons) {
         if (!doDatagen.get()) return self();
-        @SuppressWarnings("null")
-        Consumer<? extends RegistrateProvider> existing = datagensByEntry.put(Pair.of(entry, registryType), type, cons);
-        if (existing != null) {
-            datagens.remove(type, existing);
+        synchronized (datagens) {
+            datagens.put(Pair.of(entry, registryType), type, cons);
         }
-        return addDataGenerator(type, cons);
+        onDataGeneratorAdded(type);
+        return self();
     }
 
     /**
@@ -591,14 +835,94 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
      */
     public <T extends RegistrateProvider> S addDataGenerator(ProviderType<? extends T> type, NonNullConsumer<? extends T> cons) {
         if (doDatagen.get()) {
-            datagens.put(type, cons);
+            // Generators may add other generators, and providers may run in parallel (see parallelDatagen)
+            synchronized (datagens) {
+                datagens.add(type, cons);
+            }
+            onDataGeneratorAdded(type);
         }
         return self();
     }
 
+    private void onDataGeneratorAdded(ProviderType<?> type) {
+        RegistrateDataProvider provider = this.provider;
+        if (provider != null) {
+            // Providers are only created for types with generators, see RegistrateDataProvider
+            provider.onDataGeneratorAdded(type);
+        }
+    }
+
+    /**
+     * Mostly internal, adds an entry to a tag of the given tag provider type. All tags added this way are generated by a single data generator per type, see {@link TagIndex}.
+     *
+     * @param <R>
+     *            The registry type
+     * @param <TP>
+     *            The type of tag provider
+     * @param type
+     *            The tag provider type
+     * @param tag
+     *            The tag to add the entry to
+     * @param entry
+     *            The ID of the entry
+     * @return this {@link AbstractRegistrate}
+     */
+    public <R, TP extends TagsProvider<R> & RegistrateTagsProvider<R>> S addTagEntry(ProviderType<? extends TP> type, TagKey<R> tag, ResourceLocation entry) {
+        if (doDatagen.get() && tagIndex.add(type, tag, entry)) {
+            addDataGenerator(type, tagIndex.<R, TP> generator(type));
+        }
+        return self();
+    }
+
+    /**
+     * Mostly internal, removes an entry added with {@link #addTagEntry(ProviderType, TagKey, ResourceLocation)} from a tag.
+     *
+     * @param <R>
+     *            The registry type
+     * @param <TP>
+     *            The type of tag provider
+     * @param type
+     *            The tag provider type
+     * @param tag
+     *            The tag to remove the entry from
+     * @param entry
+     *            The ID of the entry
+     * @return this {@link AbstractRegistrate}
+     */
+    public <R, TP extends TagsProvider<R> & RegistrateTagsProvider<R>> S removeTagEntry(ProviderType<? extends TP> type, TagKey<R> tag, ResourceLocation entry) {
+        tagIndex.remove(type, tag, entry);
+        return self();
+    }
+
+    /**
+     * For internal use, get the sink that builders queue client-side registrations (render layers, color handlers, renderers) into. Only use it on the physical client.
+     *
+     * @return The client registration sink of this registrate
+     */
+    @ApiStatus.Internal
+    public ClientRegistrationSink getClientSink() {
+        return clientSink;
+    }
+
+    /**
+     * For internal use, get the sink that entity builders queue attributes and spawn placements into.
+     *
+     * @return The entity registration sink of this registrate
+     */
+    @ApiStatus.Internal
+    public EntityRegistrationSink getEntitySink() {
+        return entitySink;
+    }
+
     private final NonNullSupplier<List<Pair<String, String>>> extraLang = NonNullSupplier.lazy(() -> {
         final List<Pair<String, String>> ret = new ArrayList<>();
-        addDataGenerator(ProviderType.LANG, prov -> ret.forEach(p -> prov.add(p.getKey(), p.getValue())));
+        addDataGenerator(ProviderType.LANG, prov -> {
+            List<Pair<String, String>> entries;
+            synchronized (datagens) {
+                entries = List.copyOf(ret);
+            }
+            entries.forEach(p -> prov.add(p.getKey(), p.getValue()));
+        });
         return ret;
     });
 
@@ -645,19 +969,67 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
      */
     public MutableComponent addRawLang(String key, String value) {
         if (doDatagen.get()) {
-            extraLang.get().add(Pair.of(key, value));
+            synchronized (datagens) {
+                extraLang.get().add(Pair.of(key, value));
+            }
+            IncrementalDatagen incremental = getIncrementalDatagen();
+            ProviderType<?> type = generatingType.get();
+            String generator = generatingKey.get();
+            if (incremental != null && type != null && generator != null) {
+                incremental.feedsLang(type, generator);
+            }
         }
         return Component.translatable(key);
     }
 
     @SuppressWarnings("null")
     private Optional<Pair<String, ResourceKey<? extends Registry<?>>>> getEntryForGenerator(ProviderType<?> type, NonNullConsumer<? extends RegistrateProvider> generator) {
-        for (Map.Entry<Pair<String, ResourceKey<? extends Registry<?>>>, Consumer<? extends RegistrateProvider>> e : datagensByEntry.column(type).entrySet()) {
-            if (e.getValue() == generator) {
-                return Optional.of(e.getKey());
+        synchronized (datagens) {
+            return Optional.ofNullable(datagens.getOwner(type, generator));
+        }
+    }
+
+    /**
+     * For internal use, fingerprints the data generators of the given type for incremental datagen. Entry-associated generators also include the class of the registered entry, and the classes it
+     * calls into.
+     *
+     * @param type
+     *            The type of provider
+     * @return The fingerprint of each generator, keyed by entry ({@code registry|name}) or by position for unassociated generators, or {@code null} if any generator cannot be fingerprinted
+     */
+    @ApiStatus.Internal
+    public @Nullable Map<String, HashCode> fingerprintDataGenerators(ProviderType<?> type) {
+        List<Pair<Pair<String, ResourceKey<? extends Registry<?>>>, NonNullConsumer<? extends RegistrateProvider>>> generators = new ArrayList<>();
+        synchronized (datagens) {
+            datagens.forEach(type, (entry, cons) -> generators.add(Pair.of(entry, cons)));
+        }
+        Map<String, HashCode> ret = new LinkedHashMap<>();
+        int unassociated = 0;
+        for (var generator : generators) {
+            Pair<String, ResourceKey<? extends Registry<?>>> entry = generator.getLeft();
+            NonNullConsumer<? extends RegistrateProvider> cons = generator.getRight();
+            String key;
+            HashCode hash;
+            if (entry == null) {
+                key = "#" + unassociated++;
+                hash = DatagenFingerprinter.fingerprint(cons);
+            } else {
+                key = IncrementalDatagen.key(entry.getRight(), entry.getLeft());
+                Registration<?, ?> reg = getRegistrationUnchecked(entry.getLeft(), entry.getRight());
+                if (reg == null) {
+                    hash = DatagenFingerprinter.fingerprint(cons);
+                } else {
+                    HashCode entryClass = DatagenFingerprinter.classClosure(reg.getCreator().get().getClass());
+                    hash = entryClass == null ? null : DatagenFingerprinter.fingerprint(cons, entryClass.toString());
+                }
             }
+            if (hash == null) {
+                log.debug(DebugMarkers.DATA, "Could not fingerprint data generator of type {} for {}", RegistrateDataProvider.getTypeName(type), key);
+                return null;
+            }
+            ret.put(key, hash);
         }
-        return Optional.empty();
+        return ret;
     }
 
     /**
@@ -670,38 +1042,188 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
      * @param gen
      *            The provider
      */
-    @SuppressWarnings("unchecked")
     public <T extends RegistrateProvider> void genData(ProviderType<? extends T> type, T gen) {
-        if (!doDatagen.get()) return;
-        datagens.get(type).forEach(cons -> {
-            Optional<Pair<String, ResourceKey<? extends Registry<?>>>> entry = null;
-            if (log.isEnabled(Level.DEBUG, DebugMarkers.DATA)) {
+        genData(type, gen, null);
+    }
+
+    /**
+     * For internal use, calls upon registered data generators to actually create their data, running the given action after each generator as if it was part of it. This lets providers
+     * {@link #claimDataOutput(PackOutput.Target, String, ResourceLocation) claim} outputs they can only find once a generator is done.
+     *
+     * @param <T>
+     *            The type of the provider
+     * @param type
+     *            The type of provider to run
+     * @param gen
+     *            The provider
+     * @param afterEach
+     *            The action to run after each generator, if any
+     */
+    @ApiStatus.Internal
+    public <T extends RegistrateProvider> void genData(ProviderType<? extends T> type, T gen, @Nullable Runnable afterEach) {
+        for (NonNullConsumer<? extends RegistrateProvider> cons : getDataGenerators(type)) {
+            runDataGenerator(type, cons, gen, afterEach);
+        }
+    }
+
+    /**
+     * For internal use, get a snapshot of the registered data generators of the given type, in order. Empty if data generation is disabled.
+     *
+     * @param type
+     *            The type of provider
+     * @return The data generators
+     */
+    @ApiStatus.Internal
+    public List<NonNullConsumer<? extends RegistrateProvider>> getDataGenerators(ProviderType<?> type) {
+        if (!doDatagen.get()) return List.of();
+        synchronized (datagens) {
+            return datagens.getAll(type);
+        }
+    }
+
+    /**
+     * For internal use, run a single data generator from {@link #getDataGenerators(ProviderType)}, handling errors as {@link #genData(ProviderType, RegistrateProvider)} does.
+     *
+     * @param <T>
+     *            The type of the provider
+     * @param type
+     *            The type of provider to run
+     * @param cons
+     *            The data generator
+     * @param gen
+     *            The provider
+     */
+    @ApiStatus.Internal
+    public <T extends RegistrateProvider> void runDataGenerator(ProviderType<? extends T> type, NonNullConsumer<? extends RegistrateProvider> cons, T gen) {
+        runDataGenerator(type, cons, gen, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends RegistrateProvider> void runDataGenerator(ProviderType<? extends T> type, NonNullConsumer<? extends RegistrateProvider> cons, T gen, @Nullable Runnable afterEach) {
+        Optional<Pair<String, ResourceKey<? extends Registry<?>>>> entry = null;
+        String key = null;
+        IncrementalDatagen incremental = getIncrementalDatagen();
+        if (incremental != null) {
+            entry = getEntryForGenerator(type, cons);
+            key = entry.map(e -> IncrementalDatagen.key(e.getRight(), e.getLeft())).orElse(IncrementalDatagen.UNASSOCIATED);
+            if (incremental.isSkipped(type, key)) {
+                log.debug(DebugMarkers.DATA, "Skipping unchanged data of type {} for entry {} [{}]", RegistrateDataProvider.getTypeName(type), entry.get().getLeft(), entry.get().getRight().location());
+                return;
+            }
+        }
+        if (log.isEnabled(Level.DEBUG, DebugMarkers.DATA)) {
+            if (entry == null) {
                 entry = getEntryForGenerator(type, cons);
-                if (entry.isPresent()) {
-                    log.debug(DebugMarkers.DATA, "Generating data of type {} for entry {} [{}]", RegistrateDataProvider.getTypeName(type), entry.get().getLeft(), entry.get().getRight().location());
-                } else {
-                    log.debug(DebugMarkers.DATA, "Generating unassociated data of type {} ({})", RegistrateDataProvider.getTypeName(type), type);
-                }
             }
+            if (entry.isPresent()) {
+                log.debug(DebugMarkers.DATA, "Generating data of type {} for entry {} [{}]", RegistrateDataProvider.getTypeName(type), entry.get().getLeft(), entry.get().getRight().location());
+            } else {
+                log.debug(DebugMarkers.DATA, "Generating unassociated data of type {} ({})", RegistrateDataProvider.getTypeName(type), type);
+            }
+        }
+        ProviderType<?> outerType = generatingType.get();
+        String outerKey = generatingKey.get();
+        generatingType.set(type);
+        generatingKey.set(key);
+        try {
+            ((Consumer<T>) cons).accept(gen);
+            if (afterEach != null) {
+                afterEach.run();
+            }
+        } catch (Exception e) {
+            if (entry == null) {
+                entry = getEntryForGenerator(type, cons);
+            }
+            Message err;
+            if (entry.isPresent()) {
+                err = log.getMessageFactory().newMessage("Unexpected error while running data generator of type {} for entry {} [{}]", RegistrateDataProvider.getTypeName(type), entry.get().getLeft(), entry.get().getRight().location());
+            } else {
+                err = log.getMessageFactory().newMessage("Unexpected error while running unassociated data generator of type {} ({})", RegistrateDataProvider.getTypeName(type), type);
+            }
+            if (skipErrors) {
+                log.error(err);
+            } else {
+                throw new RuntimeException(err.getFormattedMessage(), e);
+            }
+        } finally {
+            generatingType.set(outerType);
+            generatingKey.set(outerKey);
+        }
+    }
+
+    /**
+     * For internal use, bind an action to the data generator running on the current thread, for actions which providers collect from generators and run later. Anything the action does, like adding
+     * lang entries or claiming outputs, is then attributed to that generator.
+     *
+     * @param <T>
+     *            The type of the action's argument
+     * @param action
+     *            The action
+     * @return The bound action, or the action itself if no data generator is running on this thread
+     */
+    @ApiStatus.Internal
+    public <T> Consumer<T> bindToDataGenerator(Consumer<T> action) {
+        ProviderType<?> type = generatingType.get();
+        String key = generatingKey.get();
+        if (type == null) {
+            return action;
+        }
+        return t -> {
+            ProviderType<?> outerType = generatingType.get();
+            String outerKey = generatingKey.get();
+            generatingType.set(type);
+            generatingKey.set(key);
             try {
-                ((Consumer<T>) cons).accept(gen);
-            } catch (Exception e) {
-                if (entry == null) {
-                    entry = getEntryForGenerator(type, cons);
-                }
-                Message err;
-                if (entry.isPresent()) {
-                    err = log.getMessageFactory().newMessage("Unexpected error while running data generator of type {} for entry {} [{}]", RegistrateDataProvider.getTypeName(type), entry.get().getLeft(), entry.get().getRight().location());
-                } else {
-                    err = log.getMessageFactory().newMessage("Unexpected error while running unassociated data generator of type {} ({})", RegistrateDataProvider.getTypeName(type), type);
-                }
-                if (skipErrors) {
-                    log.error(err);
-                } else {
-                    throw new RuntimeException(err.getFormattedMessage(), e);
-                }
+                action.accept(t);
+            } finally {
+                generatingType.set(outerType);
+                generatingKey.set(outerKey);
             }
-        });
+        };
+    }
+
+    /**
+     * For internal use, record that the data generator running on the current thread creates the given output. Used by providers of per-entry outputs, so that incremental datagen can skip
+     * the generators of unchanged entries individually. Does nothing unless data generation is {@link #incrementalDatagen(boolean) incremental}.
+     *
+     * @param target
+     *            The pack the output is in
+     * @param kind
+     *            The folder of the output within its namespace, such as {@code recipes} or {@code models}
+     * @param id
+     *            The ID of the output
+     */
+    @ApiStatus.Internal
+    public void claimDataOutput(PackOutput.Target target, String kind, ResourceLocation id) {
+        IncrementalDatagen incremental = getIncrementalDatagen();
+        ProviderType<?> type = generatingType.get();
+        String key = generatingKey.get();
+        if (incremental != null && type != null && key != null) {
+            incremental.claim(type, key, IncrementalDatagen.path(target, kind, id));
+        }
+    }
+
+    /**
+     * For internal use, check whether the data generator of the given type for the given entry is skipped by incremental datagen, in which case its previous outputs are kept. Providers which
+     * check that each entry produced an output must leave out skipped entries.
+     *
+     * @param type
+     *            The type of provider
+     * @param registry
+     *            The registry of the entry
+     * @param name
+     *            The name of the entry
+     * @return Whether the generator is skipped this run
+     */
+    @ApiStatus.Internal
+    public boolean isDataGeneratorSkipped(ProviderType<?> type, ResourceKey<? extends Registry<?>> registry, String name) {
+        IncrementalDatagen incremental = getIncrementalDatagen();
+        return incremental != null && incremental.isSkipped(type, IncrementalDatagen.key(registry, name));
+    }
+
+    private @Nullable IncrementalDatagen getIncrementalDatagen() {
+        RegistrateDataProvider provider = this.provider;
+        return provider == null ? null : provider.getIncrementalDatagen();
     }
 
     /**
@@ -722,6 +1244,135 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
         return self();
     }
 
+    /**
+     * Enable incremental data generation.
+     * <p>
+     * Each data generator is fingerprinted (see {@link DatagenFingerprinter}), along with the class of its entry and the code both of them call into. The fingerprints and the generated files of
+     * each entry are stored in {@code .cache/registrate/} under the output folder. On the next run, the generators of unchanged entries are skipped, and their previous outputs are kept instead. This
+     * applies to per-entry outputs (blockstates, models, loot tables, recipes, advancements). Provider types with aggregated outputs (lang, tags) are only skipped when none of their generators
+     * changed, and otherwise regenerate as a whole. Provider types which depend on each other always run together.
+     * <p>
+     * Lambdas are fingerprinted by the bytecode of the class declaring them, so changing a class regenerates the data of every entry whose generators are declared in it. Declaring content in
+     * several classes keeps regeneration narrow.
+     * <p>
+     * Generators which capture state that cannot be fingerprinted force their entry to regenerate every time. Implement {@link com.tterrag.registrate.util.Fingerprinted Fingerprinted} on such state
+     * to avoid this. Generators must only create the outputs of their own entry, through the usual provider methods. Generators which look up or modify the outputs of other entries are not
+     * supported.
+     * <p>
+     * <strong>This is not safe for generators which read inputs other than code</strong>, like configs, system properties, other mods or files on disk, as changes to those are not detected. Only
+     * enable this if none of your generators do, or implement {@link com.tterrag.registrate.util.Fingerprinted Fingerprinted} for those inputs.
+     *
+     * @param incrementalDatagen
+     *            {@code true} to skip unchanged data generators during data generation
+     * @return this {@link AbstractRegistrate}
+     */
+    public S incrementalDatagen(boolean incrementalDatagen) {
+        this.incrementalDatagen = incrementalDatagen;
+        return self();
+    }
+
+    /**
+     * Generate lang files for additional locales, from translation tables and from generators of {@link ProviderType#LOCALES}. See {@link RegistrateLocalesProvider}.
+     * <p>
+     * Can be called multiple times to add more locales.
+     *
+     * @param locales
+     *            The locales to generate, such as {@code de_de}
+     * @return this {@link AbstractRegistrate}
+     */
+    public S locales(String... locales) {
+        Collections.addAll(this.locales, locales);
+        return self();
+    }
+
+    /**
+     * @return The locales declared with {@link #locales(String...)}, in declaration order
+     */
+    public Set<String> getLocales() {
+        return Collections.unmodifiableSet(locales);
+    }
+
+    /**
+     * Run independent data providers in parallel on the given executor, such as {@link Util#backgroundExecutor()}.
+     * <p>
+     * Providers are scheduled according to their dependencies, as declared through the {@code existing} map passed to {@link ProviderType#create(AbstractRegistrate, GatherDataEvent, Map)}. The lang
+     * provider additionally waits for all providers except those that depend on it, as their generators may add lang entries. Providers that are not {@link ProviderType#isolated(ProviderType) isolated} share the
+     * {@link net.neoforged.neoforge.common.data.ExistingFileHelper ExistingFileHelper}, and still run one after another.
+     *
+     * @param executor
+     *            The executor to run providers on, or {@code null} to run them one at a time (the default)
+     * @return this {@link AbstractRegistrate}
+     */
+    public S parallelDatagen(@Nullable Executor executor) {
+        this.datagenExecutor = executor;
+        return self();
+    }
+
+    /**
+     * Run recipe generators in parallel, split into the given number of shards. See {@link RegistrateRecipeProvider}.
+     * <p>
+     * Recipe generators must then be safe to run concurrently with each other, which is the case for generators that only build recipes from their own entry.
+     *
+     * @param shards
+     *            The number of shards, {@code 1} to run all recipe generators on one thread (the default)
+     * @return this {@link AbstractRegistrate}
+     */
+    public S recipeShards(int shards) {
+        Preconditions.checkArgument(shards >= 1, "Recipe shards must be at least 1");
+        this.recipeShards = shards;
+        return self();
+    }
+
+    /**
+     * Build the tables of each loot sub-provider (each loot type, and each loot table set with loot actions) in parallel, on {@link Util#backgroundExecutor()}. See
+     * {@link com.tterrag.registrate.providers.loot.RegistrateLootTableProvider#getTables() RegistrateLootTableProvider}.
+     * <p>
+     * Loot generators of different sub-providers must then be safe to run concurrently with each other, so must not share mutable state.
+     *
+     * @param parallelLoot
+     *            {@code true} to build loot sub-providers in parallel, {@code false} to build them one at a time (the default)
+     * @return this {@link AbstractRegistrate}
+     */
+    public S parallelLoot(boolean parallelLoot) {
+        this.parallelLoot = parallelLoot;
+        return self();
+    }
+
+    /**
+     * Opt the given registry in to parallel construction. When the registry is populated, all entries of this type are first constructed on the common {@link ForkJoinPool}, and then registered one
+     * at a time on the event thread, in the order they were added. Only construction (the factory passed to the builder) runs in parallel, register callbacks still run sequentially.
+     * <p>
+     * Only use this for registries whose factories are free of ordering-sensitive work and shared mutable state, for instance custom registries of plain data objects. Factories run off the event
+     * thread, so must not rely on the thread context class loader or on thread-local state.
+     * <p>
+     * Registries whose objects create an intrusive holder in their constructor (blocks, items, fluids, entity types, block entity types and game events) cannot be constructed in parallel, as creating
+     * the holder writes to unsynchronized state of the registry.
+     *
+     * @param type
+     *            The registry type to construct in parallel
+     * @return this {@link AbstractRegistrate}
+     * @throws IllegalArgumentException
+     *             if objects of the given registry create intrusive holders
+     */
+    public S constructInParallel(ResourceKey<? extends Registry<?>> type) {
+        Preconditions.checkArgument(!INTRUSIVE_HOLDER_REGISTRIES.contains(type), "Registry %s uses intrusive holders, and cannot be constructed in parallel", type.location());
+        parallelConstruction.add(type);
+        return self();
+    }
+
+    /**
+     * Build the attributes of all entities on the common {@link ForkJoinPool} when they are registered, rather than one at a time on the event thread. They are still registered in the order they
+     * were added. Attribute suppliers which fail are logged right away, and the error is rethrown on the event thread when registering reaches them, without invoking them again.
+     * <p>
+     * Only use this when all attribute suppliers are free of shared mutable state, which is the case for the usual {@code EntityClass::createAttributes}.
+     *
+     * @return this {@link AbstractRegistrate}
+     */
+    public S buildAttributesInParallel() {
+        entitySink.setParallelAttributes(true);
+        return self();
+    }
+
     /**
      * Begin a new object, this is typically used at the beginning of a builder chain. The given name will be used until this method is called again. This makes it simple to create multiple entries
      * with the same name, as is often the case with blocks/items, items/entities, and blocks/TEs.
@@ -731,10 +1382,173 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
      * @return this {@link AbstractRegistrate}
      */
     public S object(String name) {
-        this.currentName = name;
+        if (threadNames == null) {
+            this.currentName = name;
+        } else {
+            threadNames.set(name);
+        }
         return self();
     }
 
+    /**
+     * Allow entries to be declared from several threads at once, for example when a registrate is shared by mods which are constructed in parallel.
+     * <p>
+     * In this mode, each thread captures registrations into its own lane without blocking, and register callbacks of each entry are guarded by a striped lock. The {@link #object(String) current
+     * name} is tracked per thread. All registrations are put in a deterministic order whenever they are read in bulk (at registration, or by {@link #getAll(ResourceKey)}): grouped by the mod being
+     * constructed and the thread that declared them, ordered by the first entry of each group, and then in declaration order. So the registration order does not depend on thread scheduling as long
+     * as each mod declares its entries in a fixed order on a single thread.
+     * <p>
+     * Must be called before any entries are declared, and before this registrate is shared with other threads. Cannot be turned off.
+     *
+     * @return this {@link AbstractRegistrate}
+     * @throws IllegalStateException
+     *             if entries have already been declared
+     */
+    public S concurrentCapture() {
+        if (captureLanes != null) {
+            return self();
+        }
+        Preconditions.checkState(registrations.isEmpty(), "Concurrent capture must be enabled before declaring any entries");
+        captureLanes = new CaptureLanes<>(() -> ModLoadingContext.get().getActiveNamespace());
+        captureLocks = Striped.lock(64);
+        threadNames = new ThreadLocal<>();
+        threadNames.set(currentName);
+        registerCallbacks = Multimaps.synchronizedSetMultimap(HashMultimap.create(registerCallbacks));
+        afterRegisterCallbacks = Multimaps.synchronizedSetMultimap(HashMultimap.create(afterRegisterCallbacks));
+        creativeModeTabModifiers = Multimaps.synchronizedListMultimap(ArrayListMultimap.create(creativeModeTabModifiers));
+        return self();
+    }
+
+    /**
+     * Register a family of entries, such as the colour variants of a block or the blocks of a wood set.
+     * <p>
+     * This is a convenience for calling {@link #object(String)} and the template for each member, plus {@link #reserve(ResourceKey, int)}. It is not a bulk registration path: every member is
+     * registered exactly as separate calls would register it. The template is invoked once per member, with the name of that member set as the current name. It must register the entries for the
+     * member, returning the one to include in the result. The previous current name is restored afterwards.
+     * <p>
+     * Each member gets its own builders, data generators and registrations, as these are keyed by entry and later members may look up earlier ones while they are built. Only what the template itself
+     * shares between invocations (property functions, tags, non-capturing data generators) is shared. When the members are a {@link Collection}, room for the registrations of the whole family is
+     * reserved after capturing the first member, so capturing the rest does not repeatedly grow the internal indices. In {@link #concurrentCapture() concurrent capture} mode, nothing is reserved.
+     *
+     * <pre>
+     * {@code
+     * public static final Map<DyeColor, BlockEntry<Block>> LAMPS = REGISTRATE.family(Arrays.asList(DyeColor.values()), color -> color.getName() + "_lamp",
+     *         (r, color) -> r.block(Block::new).properties(LAMP_PROPERTIES).simpleItem().register());
+     * }
+     * </pre>
+     *
+     * @param <M>
+     *            The type of family members
+     * @param <E>
+     *            The type of entry the template returns
+     * @param members
+     *            The members of the family, in registration order
+     * @param namer
+     *            Function to get the entry name for each member
+     * @param template
+     *            Function to register the entries for each member
+     * @return An unmodifiable map of each member to its entry, in registration order
+     */
+    public <M, E extends RegistryEntry<?, ?>> Map<M, E> family(Iterable<? extends M> members, NonNullFunction<? super M, String> namer, NonNullBiFunction<S, ? super M, ? extends E> template) {
+        String previousName = threadNames == null ? this.currentName : threadNames.get();
+        // The capture is a plain field, and other threads may register at the same time in concurrent mode
+        int count = captureLanes == null && members instanceof Collection<?> c ? c.size() : -1;
+        Map<M, E> ret = new LinkedHashMap<>();
+        try {
+            boolean first = true;
+            for (M member : members) {
+                Multiset<ResourceKey<? extends Registry<?>>> captured = first && count > 1 ? HashMultiset.create() : null;
+                familyCapture = captured;
+                object(namer.apply(member));
+                ret.put(member, template.apply(self(), member));
+                familyCapture = null;
+                if (captured != null) {
+                    for (Multiset.Entry<ResourceKey<? extends Registry<?>>> e : captured.entrySet()) {
+                        reserve(e.getElement(), e.getCount() * (count - 1));
+                    }
+                }
+                first = false;
+            }
+        } finally {
+            familyCapture = null;
+            if (threadNames == null) {
+                this.currentName = previousName;
+            } else {
+                threadNames.set(previousName);
+            }
+        }
+        return Collections.unmodifiableMap(ret);
+    }
+
+    /**
+     * Register a family of entries that share one configuration, where each member is the name of its entry. See {@link #family(Iterable, NonNullFunction, NonNullBiFunction)}.
+     *
+     * @param <E>
+     *            The type of entry the template returns
+     * @param names
+     *            The names of the entries, in registration order
+     * @param template
+     *            Function to register the entries for each name
+     * @return An unmodifiable map of each name to its entry, in registration order
+     */
+    public <E extends RegistryEntry<?, ?>> Map<String, E> family(Iterable<String> names, NonNullBiFunction<S, String, ? extends E> template) {
+        return family(names, name -> name, template);
+    }
+
+    /**
+     * Register an entry only if the given condition holds, for content that can be disabled by config or feature toggles.
+     * <p>
+     * The condition is checked immediately. If it holds, the factory is invoked with the given name set as the current name (as if by {@link #object(String)}), and must build and register the entry
+     * as usual. Otherwise the factory is never invoked, so the builder and everything it would set up (data generators, render layers, color handlers, event listeners) is never created. Instead, an
+     * entry for an unbound {@link DeferredHolder} is returned, which throws on {@link RegistryEntry#get()} and reports {@code false} for {@link DeferredHolder#isBound() isBound()}.
+     * <p>
+     * The condition is therefore evaluated during mod construction, and can only depend on state that is available by then, such as startup configs or the presence of other mods. During data
+     * generation the condition is not evaluated at all, and every entry is registered, so that data is generated for all content.
+     *
+     * <pre>
+     * {@code
+     * public static final BlockEntry<Block> COMPRESSED_DIRT = REGISTRATE.registerIf(StartupConfig::compressedBlocks, "compressed_dirt", Registries.BLOCK, BlockEntry::new,
+     *         r -> r.block(Block::new).simpleItem().register());
+     * }
+     * </pre>
+     *
+     * @param <R>
+     *            The registry type
+     * @param <T>
+     *            The type of the entry
+     * @param <E>
+     *            The type of {@link RegistryEntry}
+     * @param condition
+     *            Whether to register the entry
+     * @param name
+     *            The name of the entry
+     * @param type
+     *            The registry type of the entry
+     * @param tombstone
+     *            Factory for the entry returned when the condition does not hold, typically the constructor of the entry type
+     * @param factory
+     *            Function to build and register the entry when the condition holds
+     * @return The registered entry, or the tombstone entry if the condition does not hold
+     */
+    public <R, T extends R, E extends RegistryEntry<R, T>> E registerIf(BooleanSupplier condition, String name, ResourceKey<? extends Registry<R>> type,
+            NonNullBiFunction<AbstractRegistrate<?>, DeferredHolder<R, T>, ? extends E> tombstone, NonNullFunction<S, ? extends E> factory) {
+        if (!doDatagen.get() && !condition.getAsBoolean()) {
+            log.debug(DebugMarkers.REGISTER, "Skipped disabled entry {}:{} of type {}", getModid(), name, type.location());
+            return tombstone.apply(this, DeferredHolder.create(type, new ResourceLocation(modid, name)));
+        }
+        String previousName = threadNames == null ? this.currentName : threadNames.get();
+        try {
+            object(name);
+            return factory.apply(self());
+        } finally {
+            if (threadNames == null) {
+                this.currentName = previousName;
+            } else {
+                threadNames.set(previousName);
+            }
+        }
+    }
+
     /**
      * Set the default CreativeModeTab to be passed onto future builders.
      * <p>
@@ -757,13 +1571,18 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
      * used to modify what items are displayed on the given {@link CreativeModeTab}.
      * <p>
      * Calling this method multiple times will add additional callbacks.
+     * <p>
+     * The items added by modifiers can be cached, see {@link #cacheCreativeModeTabContents(boolean)}.
      *
      * @param creativeModeTab The {@link CreativeModeTab} to register this callback for
      * @param modifier The modifier callback to be registered
      * @return This {@link AbstractRegistrate} instance
      */
     public S modifyCreativeModeTab(ResourceKey<CreativeModeTab> creativeModeTab, Consumer<CreativeModeTabModifier> modifier) {
-        creativeModeTabModifiers.put(creativeModeTab, modifier);
+        synchronized (creativeModeTabModifiers) {
+            creativeModeTabModifiers.put(creativeModeTab, modifier);
+            creativeModeTabContents.invalidate(creativeModeTab);
+        }
         return self();
     }
 
@@ -881,15 +1700,54 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
     protected <R, T extends R> RegistryEntry<R, T> accept(String name, ResourceKey<? extends Registry<R>> type, Builder<R, T, ?, ?> builder, NonNullSupplier<? extends T> creator, NonNullFunction<DeferredHolder<R,T>, ? extends RegistryEntry<R, T>> entryFactory) {
         Registration<R, T> reg = new Registration<>(new ResourceLocation(modid, name), type, creator, entryFactory);
         log.debug(DebugMarkers.REGISTER, "Captured registration for entry {}:{} of type {}", getModid(), name, type.location());
-        registerCallbacks.removeAll(Pair.of(name, type)).forEach(callback -> {
-            @SuppressWarnings({ "unchecked", "null" })
-            @Nonnull NonNullConsumer<? super T> unsafeCallback = (NonNullConsumer<? super T>) callback;
-            reg.addRegisterCallback(unsafeCallback);
-        });
-        registrations.put(type, name, reg);
+        if (captureLanes == null) {
+            takeRegisterCallbacks(name, type, reg);
+            registrations.put(type, name, reg);
+        } else {
+            Lock lock = captureLocks.get(Pair.of(name, type));
+            lock.lock();
+            try {
+                takeRegisterCallbacks(name, type, reg);
+                captureLanes.put(type, name, reg);
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (familyCapture != null) {
+            familyCapture.add(type);
+        }
         return reg.getDelegate();
     }
 
+    private <R, T extends R> void takeRegisterCallbacks(String name, ResourceKey<? extends Registry<R>> type, Registration<R, T> reg) {
+        if (!registerCallbacks.isEmpty()) {
+            registerCallbacks.removeAll(Pair.of(name, type)).forEach(callback -> {
+                @SuppressWarnings({ "unchecked", "null" })
+                @Nonnull NonNullConsumer<? super T> unsafeCallback = (NonNullConsumer<? super T>) callback;
+                reg.addRegisterCallback(unsafeCallback);
+            });
+        }
+    }
+
+    /**
+     * Make room for the given number of additional entries of the given registry, so that declaring them does not repeatedly grow the internal indices. Purely an optimization, declaring more or
+     * fewer entries than reserved is fine.
+     *
+     * @param type
+     *            The registry of the entries
+     * @param additional
+     *            The number of entries about to be declared
+     * @return this {@link AbstractRegistrate}
+     */
+    public S reserve(ResourceKey<? extends Registry<?>> type, int additional) {
+        if (captureLanes == null) {
+            registrations.reserve(type, additional);
+        } else {
+            captureLanes.reserve(type, additional);
+        }
+        return self();
+    }
+
     /**
      * Helper to create a new registry for custom objects. The returned {@link ResourceKey} can be used immediately in methods like {@link #simple(ResourceKey, NonNullSupplier) simple} or
      * {@link #generic(ResourceKey, NonNullSupplier) generic}.
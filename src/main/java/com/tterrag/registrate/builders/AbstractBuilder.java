@@ -1,7 +1,5 @@
 package com.tterrag.registrate.builders;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
 import com.tterrag.registrate.AbstractRegistrate;
 import com.tterrag.registrate.providers.ProviderType;
 import com.tterrag.registrate.providers.RegistrateLangProvider;
@@ -19,13 +17,10 @@ import net.minecraft.core.Registry;
 import net.minecraft.data.tags.TagsProvider;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.tags.TagEntry;
 import net.minecraft.tags.TagKey;
 import net.neoforged.neoforge.common.util.NonNullFunction;
 import net.neoforged.neoforge.registries.DeferredHolder;
 
-import java.util.Arrays;
-
 /**
  * Base class which most builders should extend, instead of implementing [@link {@link Builder} directly.
  * <p>
@@ -55,8 +50,6 @@ public abstract class AbstractBuilder<R, T extends R, P, S extends AbstractBuild
     @Getter(onMethod_ = {@Override})
     private final ResourceKey<? extends Registry<R>> registryKey;
 
-    private final Multimap<ProviderType<? extends RegistrateTagsProvider<?>>, TagKey<?>> tagsByType = HashMultimap.create();
-
     /** A supplier for the entry that will discard the reference to this builder after it is resolved */
     private final LazyRegistryEntry<R, T> safeSupplier = new LazyRegistryEntry<>(this);
 
@@ -94,13 +87,10 @@ public abstract class AbstractBuilder<R, T extends R, P, S extends AbstractBuild
     @SuppressWarnings("unchecked")
     @SafeVarargs
     public final <TP extends TagsProvider<R> & RegistrateTagsProvider<R>> S tag(ProviderType<? extends TP> type, TagKey<R>... tags) {
-        if (!tagsByType.containsKey(type)) {
-            setData(type, (ctx, prov) -> tagsByType.get(type).stream()
-                    .map(t -> (TagKey<R>) t)
-                    .map(prov::addTag)
-                    .forEach(b -> b.add(TagEntry.element(new ResourceLocation(getOwner().getModid(), getName())))));
+        ResourceLocation id = new ResourceLocation(getOwner().getModid(), getName());
+        for (TagKey<R> tag : tags) {
+            getOwner().addTagEntry(type, tag, id);
         }
-        tagsByType.putAll(type, Arrays.asList(tags));
         return (S) this;
     }
 
@@ -116,10 +106,9 @@ public abstract class AbstractBuilder<R, T extends R, P, S extends AbstractBuild
     @SuppressWarnings("unchecked")
     @SafeVarargs
     public final <TP extends TagsProvider<R> & RegistrateTagsProvider<R>> S removeTag(ProviderType<TP> type, TagKey<R>... tags) {
-        if (tagsByType.containsKey(type)) {
-            for (TagKey<R> tag : tags) {
-                tagsByType.remove(type, tag);
-            }
+        ResourceLocation id = new ResourceLocation(getOwner().getModid(), getName());
+        for (TagKey<R> tag : tags) {
+            getOwner().removeTagEntry(type, tag, id);
         }
         return (S) this;
     }
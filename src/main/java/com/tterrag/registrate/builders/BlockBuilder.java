@@ -22,7 +22,6 @@ import com.tterrag.registrate.providers.RegistrateLangProvider;
 import com.tterrag.registrate.providers.RegistrateRecipeProvider;
 import com.tterrag.registrate.providers.loot.RegistrateBlockLootTables;
 import com.tterrag.registrate.providers.loot.RegistrateLootTableProvider.LootType;
-import com.tterrag.registrate.util.OneTimeEventReceiver;
 import com.tterrag.registrate.util.entry.BlockEntry;
 import com.tterrag.registrate.util.entry.RegistryEntry;
 import com.tterrag.registrate.util.nullness.NonNullBiConsumer;
@@ -35,6 +34,7 @@ import net.minecraft.client.color.block.BlockColor;
 import net.minecraft.client.renderer.ItemBlockRenderTypes;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.core.registries.Registries;
+import net.minecraft.data.PackOutput;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.tags.TagKey;
 import net.minecraft.world.item.BlockItem;
@@ -47,7 +47,6 @@ import net.minecraft.world.level.storage.loot.BuiltInLootTables;
 import net.neoforged.api.distmarker.Dist;
 import net.neoforged.fml.event.lifecycle.FMLClientSetupEvent;
 import net.neoforged.fml.loading.FMLEnvironment;
-import net.neoforged.neoforge.client.event.RegisterColorHandlersEvent;
 import net.neoforged.neoforge.client.model.generators.BlockStateProvider;
 import net.neoforged.neoforge.registries.DeferredHolder;
 
@@ -154,7 +153,7 @@ public class BlockBuilder<T extends Block, P> extends AbstractBuilder<Block, T,
     @SuppressWarnings("deprecation")
     protected void registerLayers(T entry) {
         if (FMLEnvironment.dist == Dist.CLIENT) {
-            OneTimeEventReceiver.addModListener(getOwner(), FMLClientSetupEvent.class, $ -> {
+            getOwner().getClientSink().add(FMLClientSetupEvent.class, $ -> {
                 if (renderLayers.size() == 1) {
                     final RenderType layer = renderLayers.get(0).get().get();
                     ItemBlockRenderTypes.setRenderLayer(entry, layer);
@@ -269,12 +268,7 @@ public class BlockBuilder<T extends Block, P> extends AbstractBuilder<Block, T,
     }
     
     protected void registerBlockColor() {
-        OneTimeEventReceiver.addModListener(getOwner(), RegisterColorHandlersEvent.Block.class, e -> {
-            NonNullSupplier<Supplier<BlockColor>> colorHandler = this.colorHandler;
-            if (colorHandler != null) {
-                e.register(colorHandler.get().get(), getEntry());
-            }
-        });
+        getOwner().getClientSink().blockColor(this::getEntry, () -> this.colorHandler);
     }
 
     /**
@@ -344,6 +338,7 @@ public class BlockBuilder<T extends Block, P> extends AbstractBuilder<Block, T,
         return setData(ProviderType.LOOT, (ctx, prov) -> prov.addLootAction(LootType.BLOCK, tb -> {
             if (!ctx.getEntry().getLootTable().equals(BuiltInLootTables.EMPTY)) {
                 cons.accept(tb, ctx.getEntry());
+                getOwner().claimDataOutput(PackOutput.Target.DATA_PACK, "loot_tables", ctx.getEntry().getLootTable());
             }
         }));
     }
@@ -8,7 +8,6 @@ import java.util.function.Function;
 import javax.annotation.Nullable;
 
 import com.tterrag.registrate.AbstractRegistrate;
-import com.tterrag.registrate.util.OneTimeEventReceiver;
 import com.tterrag.registrate.util.entry.BlockEntityEntry;
 import com.tterrag.registrate.util.entry.RegistryEntry;
 import com.tterrag.registrate.util.nullness.NonNullFunction;
@@ -125,7 +124,7 @@ public class BlockEntityBuilder<T extends BlockEntity, P> extends AbstractBuilde
     }
     
     protected void registerRenderer() {
-        OneTimeEventReceiver.addModListener(getOwner(), FMLClientSetupEvent.class, $ -> {
+        getOwner().getClientSink().add(FMLClientSetupEvent.class, $ -> {
             var renderer = this.renderer;
             if (renderer != null) {
                 BlockEntityRenderers.register(getEntry(), renderer.get()::apply);
@@ -6,7 +6,6 @@ import com.tterrag.registrate.providers.ProviderType;
 import com.tterrag.registrate.providers.RegistrateLangProvider;
 import com.tterrag.registrate.providers.loot.RegistrateEntityLootTables;
 import com.tterrag.registrate.providers.loot.RegistrateLootTableProvider.LootType;
-import com.tterrag.registrate.util.OneTimeEventReceiver;
 import com.tterrag.registrate.util.entry.EntityEntry;
 import com.tterrag.registrate.util.entry.RegistryEntry;
 import com.tterrag.registrate.util.nullness.NonNullBiConsumer;
@@ -17,6 +16,7 @@ import com.tterrag.registrate.util.nullness.NonNullSupplier;
 import net.minecraft.client.renderer.entity.EntityRenderer;
 import net.minecraft.client.renderer.entity.EntityRendererProvider;
 import net.minecraft.core.registries.Registries;
+import net.minecraft.data.PackOutput;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.tags.TagKey;
 import net.minecraft.world.entity.*;
@@ -30,7 +30,6 @@ import net.neoforged.api.distmarker.Dist;
 import net.neoforged.fml.loading.FMLEnvironment;
 import net.neoforged.neoforge.client.event.EntityRenderersEvent;
 import net.neoforged.neoforge.common.DeferredSpawnEggItem;
-import net.neoforged.neoforge.event.entity.EntityAttributeCreationEvent;
 import net.neoforged.neoforge.registries.DeferredHolder;
 
 import javax.annotation.Nullable;
@@ -124,7 +123,7 @@ public class EntityBuilder<T extends Entity, P> extends AbstractBuilder<EntityTy
     }
 
     protected void registerRenderer() {
-        OneTimeEventReceiver.addModListener(getOwner(), EntityRenderersEvent.RegisterRenderers.class, evt -> {
+        getOwner().getClientSink().add(EntityRenderersEvent.RegisterRenderers.class, evt -> {
             var renderer = this.renderer;
             if (renderer != null) {
                 try {
@@ -148,13 +147,12 @@ public class EntityBuilder<T extends Entity, P> extends AbstractBuilder<EntityTy
      * @throws IllegalStateException
      *             When called more than once
      */
-    @SuppressWarnings("unchecked")
     public EntityBuilder<T, P> attributes(Supplier<AttributeSupplier.Builder> attributes) {
         if (attributesConfigured) {
             throw new IllegalStateException("Cannot configure attributes more than once");
         }
         attributesConfigured = true;
-        OneTimeEventReceiver.addModListener(getOwner(), EntityAttributeCreationEvent.class, e -> e.put((EntityType<LivingEntity>) getEntry(), attributes.get().build()));
+        getOwner().getEntitySink().attributes(this::getEntry, attributes);
         return this;
     }
 
@@ -173,24 +171,12 @@ public class EntityBuilder<T extends Entity, P> extends AbstractBuilder<EntityTy
      * @throws IllegalStateException
      *             When called more than once
      */
-    @SuppressWarnings("unchecked")
     public EntityBuilder<T, P> spawnPlacement(SpawnPlacements.Type type, Heightmap.Types heightmap, SpawnPredicate<T> predicate) {
         if (spawnConfigured) {
             throw new IllegalStateException("Cannot configure spawn placement more than once");
         }
         spawnConfigured = true;
-        this.onRegister(t -> {
-            /* TODO is there any way to do this now?
-            try {
-                if (!(t.create(null) instanceof MobEntity)) {
-                    throw new IllegalArgumentException("Cannot register spawn placement for entity " + t.getRegistryName() + " as it does not extend MobEntity");
-                }
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to type check entity " + t.getRegistryName() + " when registering spawn placement", e);
-            }
-            */
-            SpawnPlacements.register((EntityType<Mob>) t, type, heightmap, (SpawnPredicate<Mob>) predicate);
-        });
+        getOwner().getEntitySink().spawnPlacement(this::getEntry, type, heightmap, predicate);
         return this;
     }
 
@@ -263,7 +249,10 @@ public class EntityBuilder<T extends Entity, P> extends AbstractBuilder<EntityTy
      * @return this {@link EntityBuilder}
      */
     public EntityBuilder<T, P> loot(NonNullBiConsumer<RegistrateEntityLootTables, EntityType<T>> cons) {
-        return setData(ProviderType.LOOT, (ctx, prov) -> prov.addLootAction(LootType.ENTITY, tb -> cons.accept(tb, ctx.getEntry())));
+        return setData(ProviderType.LOOT, (ctx, prov) -> prov.addLootAction(LootType.ENTITY, tb -> {
+            cons.accept(tb, ctx.getEntry());
+            getOwner().claimDataOutput(PackOutput.Target.DATA_PACK, "loot_tables", ctx.getEntry().getDefaultLootTable());
+        }));
     }
 
     /**
@@ -6,7 +6,6 @@ import com.tterrag.registrate.AbstractRegistrate;
 import com.tterrag.registrate.providers.ProviderType;
 import com.tterrag.registrate.providers.RegistrateLangProvider;
 import com.tterrag.registrate.providers.RegistrateTagsProvider;
-import com.tterrag.registrate.util.OneTimeEventReceiver;
 import com.tterrag.registrate.util.entry.FluidEntry;
 import com.tterrag.registrate.util.entry.RegistryEntry;
 import com.tterrag.registrate.util.nullness.*;
@@ -363,7 +362,7 @@ public class FluidBuilder<TSource extends BaseFlowingFluid, TFlowing extends Bas
 
     protected void registerRenderType(TSource entry) {
         if (FMLEnvironment.dist == Dist.CLIENT) {
-            OneTimeEventReceiver.addModListener(getOwner(), FMLClientSetupEvent.class, $ -> {
+            getOwner().getClientSink().add(FMLClientSetupEvent.class, $ -> {
                 if (this.layer != null) {
                     RenderType layer = this.layer.get().get();
                     ItemBlockRenderTypes.setRenderLayer(entry, layer);
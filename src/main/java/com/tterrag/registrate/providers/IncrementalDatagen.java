@@ -0,0 +1,522 @@
+package com.tterrag.registrate.providers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.tterrag.registrate.AbstractRegistrate;
+import com.tterrag.registrate.util.DatagenFingerprinter;
+import com.tterrag.registrate.util.DebugMarkers;
+import com.tterrag.registrate.util.Fingerprinted;
+
+import lombok.extern.log4j.Log4j2;
+import net.minecraft.ResourceLocationException;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.Registry;
+import net.minecraft.data.CachedOutput;
+import net.minecraft.data.PackOutput;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackType;
+import net.neoforged.neoforge.common.data.ExistingFileHelper;
+
+/**
+ * Decides which data generators need to run for {@link AbstractRegistrate#incrementalDatagen(boolean) incremental datagen}, and keeps the outputs of those that do not.
+ * <p>
+ * Each generator is fingerprinted (see {@link DatagenFingerprinter}) and keyed by its entry ({@code registry|name}). Generators claim the outputs they create through
+ * {@link AbstractRegistrate#claimDataOutput(PackOutput.Target, String, ResourceLocation)}, which the providers for per-entry outputs (blockstates, models, loot tables, recipes, advancements) do.
+ * <p>
+ * A provider type whose fingerprint is unchanged and whose previous outputs are intact is not run at all. Otherwise it runs, but skips the generators of entries that are unchanged, whose outputs
+ * are intact, and that share none of their outputs with other generators. Their previous outputs are kept instead. Generators are only skipped individually when every output of the previous run
+ * was claimed, so aggregated outputs (lang files, tags) and providers which do not claim their outputs always regenerate as a whole.
+ * <p>
+ * Generators are never skipped when they added lang entries last time, as those are only collected by running them. Types which share state through provider dependencies always run together.
+ */
+@ApiStatus.Internal
+@Log4j2
+public class IncrementalDatagen {
+
+    /** Key of generators which are not associated with an entry, these always run */
+    public static final String UNASSOCIATED = "#";
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+    private static final int VERSION = 3;
+
+    private static class Index {
+        int version = VERSION;
+        Map<String, TypeRecord> types = new TreeMap<>();
+    }
+
+    private static class TypeRecord {
+        /** Fingerprint of the provider and all generators */
+        @Nullable
+        String fingerprint;
+        /** Fingerprint of the inputs shared by all generators (game version, registrate and provider classes) */
+        @Nullable
+        String base;
+        /** Whether every output was claimed by a generator, which is required to skip generators individually */
+        boolean claimed;
+        /** Whether any generator of this type added lang entries */
+        boolean feedsLang;
+        Map<String, EntryRecord> entries = new TreeMap<>();
+        Map<String, String> outputs = new TreeMap<>();
+    }
+
+    private static class EntryRecord {
+        @Nullable
+        String fingerprint;
+        /** Whether the generator added lang entries */
+        boolean feedsLang;
+        /** Whether any output of the generator was also claimed or written by another generator */
+        boolean shared;
+        Set<String> outputs = new TreeSet<>();
+    }
+
+    /** State of a provider type which runs, some generators of which may be skipped */
+    private static class Run {
+        /** Outputs to reuse for each skipped entry */
+        final Map<String, Map<Path, byte[]>> skipped;
+        /** Skipped entry each reused output belongs to */
+        final Map<String, String> reused = new HashMap<>();
+        final Map<String, String> outputs = new ConcurrentHashMap<>();
+        final Map<String, Set<String>> claims = new ConcurrentHashMap<>();
+        final Set<String> langFeeders = ConcurrentHashMap.newKeySet();
+        /** Skipped entries whose outputs were also generated by a generator that ran */
+        final Set<String> overlapping = ConcurrentHashMap.newKeySet();
+
+        Run(Map<String, Map<Path, byte[]>> skipped) {
+            this.skipped = skipped;
+        }
+
+        void claim(String owner, String output) {
+            claims.computeIfAbsent(output, $ -> ConcurrentHashMap.newKeySet()).add(owner);
+            checkOverlap(owner, output);
+        }
+
+        void checkOverlap(@Nullable String owner, String output) {
+            String skippedOwner = reused.get(output);
+            if (skippedOwner != null && !skippedOwner.equals(owner)) {
+                overlapping.add(skippedOwner);
+            }
+        }
+    }
+
+    private final AbstractRegistrate<?> parent;
+    private final Path outputFolder;
+    private final Path indexFile;
+    private final @Nullable ExistingFileHelper existingFileHelper;
+
+    private final Index previous;
+    private final Map<String, TypeRecord> current = new ConcurrentHashMap<>();
+
+    private final Map<ProviderType<?>, TypeRecord> fingerprints = new HashMap<>();
+    private final Set<ProviderType<?>> dirty = new HashSet<>();
+    /** Previous outputs of clean types, read while validating them */
+    private final Map<ProviderType<?>, Map<Path, byte[]>> reusable = new HashMap<>();
+    private final Map<ProviderType<?>, Run> runs = new ConcurrentHashMap<>();
+    private final AtomicInteger skippedEntries = new AtomicInteger();
+    private final AtomicInteger totalEntries = new AtomicInteger();
+
+    IncrementalDatagen(AbstractRegistrate<?> parent, Map<ProviderType<?>, RegistrateProvider> providers, Multimap<ProviderType<?>, ProviderType<?>> dependencies, Path outputFolder,
+            @Nullable ExistingFileHelper existingFileHelper) {
+        this.parent = parent;
+        this.outputFolder = outputFolder;
+        this.indexFile = outputFolder.resolve(".cache").resolve("registrate").resolve(parent.getModid() + ".json");
+        this.existingFileHelper = existingFileHelper;
+        this.previous = load(indexFile);
+
+        Multimap<ProviderType<?>, ProviderType<?>> edges = HashMultimap.create();
+        dependencies.forEach((from, to) -> {
+            edges.put(from, to);
+            edges.put(to, from);
+        });
+
+        for (var e : providers.entrySet()) {
+            ProviderType<?> type = e.getKey();
+            String name = name(type);
+            TypeRecord fingerprint = fingerprint(type, e.getValue());
+            TypeRecord prev = previous.types.get(name);
+            String reason = null;
+            if (prev != null && prev.feedsLang) {
+                // Lang entries added by generators are only collected by running them, and end up in the lang provider's output
+                edges.put(type, ProviderType.LANG);
+                edges.put(ProviderType.LANG, type);
+            }
+            if (fingerprint == null) {
+                reason = "generators cannot be fingerprinted";
+            } else {
+                fingerprints.put(type, fingerprint);
+                if (prev == null) {
+                    reason = "no previous run";
+                } else if (prev.feedsLang) {
+                    reason = "generators add lang entries";
+                } else if (!Objects.equals(fingerprint.fingerprint, prev.fingerprint)) {
+                    reason = "generators changed";
+                    logChangedEntries(name, prev, fingerprint);
+                } else {
+                    Map<Path, byte[]> outputs = readOutputs(prev.outputs.keySet(), prev);
+                    if (outputs == null) {
+                        reason = "outputs missing or modified";
+                    } else {
+                        reusable.put(type, outputs);
+                    }
+                }
+            }
+            if (reason != null) {
+                log.debug(DebugMarkers.DATA, "Regenerating data of type {}: {}", name, reason);
+                dirty.add(type);
+            }
+        }
+
+        // Types that share state through provider dependencies must regenerate together
+        Deque<ProviderType<?>> queue = new ArrayDeque<>(dirty);
+        while (!queue.isEmpty()) {
+            for (ProviderType<?> connected : edges.get(queue.poll())) {
+                if (providers.containsKey(connected) && dirty.add(connected)) {
+                    log.debug(DebugMarkers.DATA, "Regenerating data of type {}: depends on or is depended on by a regenerated type", name(connected));
+                    reusable.remove(connected);
+                    queue.add(connected);
+                }
+            }
+        }
+
+        for (ProviderType<?> type : dirty) {
+            runs.put(type, new Run(skippable(type)));
+        }
+    }
+
+    boolean isDirty(ProviderType<?> type) {
+        return dirty.contains(type);
+    }
+
+    /**
+     * @return Whether the generator of the given entry is skipped, its previous outputs being reused instead
+     */
+    public boolean isSkipped(ProviderType<?> type, String key) {
+        Run run = runs.get(type);
+        return run != null && run.skipped.containsKey(key);
+    }
+
+    /**
+     * Record that the generator of the given entry creates the given output.
+     *
+     * @param output
+     *            The path of the output, relative to the output folder, see {@link #path(PackOutput.Target, String, ResourceLocation)}
+     */
+    public void claim(ProviderType<?> type, String key, String output) {
+        Run run = runs.get(type);
+        if (run != null) {
+            run.claim(key, output);
+        }
+    }
+
+    /**
+     * Record that the generator of the given entry added lang entries.
+     */
+    public void feedsLang(ProviderType<?> type, String key) {
+        Run run = runs.get(type);
+        if (run != null) {
+            run.langFeeders.add(key);
+        }
+    }
+
+    /**
+     * Run the given provider, reusing the outputs of skipped generators and recording all outputs.
+     */
+    CompletableFuture<?> run(ProviderType<?> type, RegistrateProvider provider, CachedOutput cache) {
+        // Unfingerprintable types are recorded too, so that it is known whether they feed the lang provider
+        TypeRecord record = Objects.requireNonNullElseGet(fingerprints.get(type), TypeRecord::new);
+        // Types created once running are not known up front, and run in full
+        Run run = runs.computeIfAbsent(type, $ -> new Run(Map.of()));
+        try {
+            // Before running, so that generators looking up these files find them
+            for (var e : run.skipped.entrySet()) {
+                for (var output : e.getValue().entrySet()) {
+                    String path = relativize(output.getKey());
+                    HashCode hash = sha1(output.getValue());
+                    cache.writeIfNeeded(output.getKey(), output.getValue(), hash);
+                    trackGenerated(outputFolder.relativize(output.getKey()));
+                    run.outputs.put(path, hash.toString());
+                    run.reused.put(path, e.getKey());
+                }
+            }
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (!run.skipped.isEmpty()) {
+            log.debug(DebugMarkers.DATA, "Reused outputs of {} unchanged entries of type {}", run.skipped.size(), name(type));
+        }
+        CompletableFuture<?> ret = provider.run((path, data, hash) -> {
+            String relative = relativize(path);
+            run.checkOverlap(null, relative);
+            run.outputs.put(relative, hash.toString());
+            cache.writeIfNeeded(path, data, hash);
+        });
+        // Only recorded once done, generators of asynchronous providers may still be running when run returns
+        return ret.thenRun(() -> current.put(name(type), finish(type, record, run)));
+    }
+
+    /**
+     * Keep the previous outputs of the given (clean) type, so that the cache does not consider them stale.
+     */
+    void reuse(ProviderType<?> type, CachedOutput cache) throws IOException {
+        Map<Path, byte[]> outputs = reusable.remove(type);
+        for (var e : outputs.entrySet()) {
+            cache.writeIfNeeded(e.getKey(), e.getValue(), sha1(e.getValue()));
+            trackGenerated(outputFolder.relativize(e.getKey()));
+        }
+        TypeRecord prev = previous.types.get(name(type));
+        current.put(name(type), prev);
+        totalEntries.addAndGet(prev.entries.size());
+        skippedEntries.addAndGet(prev.entries.size());
+        log.debug(DebugMarkers.DATA, "Reused {} outputs of unchanged type {}", outputs.size(), name(type));
+    }
+
+    void save(int total) {
+        Index index = new Index();
+        index.types.putAll(current);
+        try {
+            Files.createDirectories(indexFile.getParent());
+            try (Writer out = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8)) {
+                GSON.toJson(index, out);
+            }
+        } catch (IOException e) {
+            log.error("Could not save incremental datagen index {}", indexFile, e);
+        }
+        log.info("Incremental datagen for {}: ran {} of {} provider types, skipped {} of {} entry generators", parent.getModid(), dirty.size(), total, skippedEntries.get(), totalEntries.get());
+    }
+
+    /**
+     * @return The key of the generator of the given entry
+     */
+    public static String key(ResourceKey<? extends Registry<?>> registry, String name) {
+        return registry.location() + "|" + name;
+    }
+
+    /**
+     * @return The path of the given output relative to the output folder, as written by the usual {@link PackOutput.PathProvider}
+     */
+    public static String path(PackOutput.Target target, String kind, ResourceLocation id) {
+        String root = switch (target) {
+            case RESOURCE_PACK -> "assets";
+            case REPORTS -> "reports";
+            default -> "data";
+        };
+        return root + "/" + id.getNamespace() + "/" + kind + "/" + id.getPath() + ".json";
+    }
+
+    /**
+     * Find the entries of the given type whose generators can be skipped, along with their previous outputs.
+     */
+    private Map<String, Map<Path, byte[]>> skippable(ProviderType<?> type) {
+        String name = name(type);
+        TypeRecord next = fingerprints.get(type);
+        TypeRecord prev = previous.types.get(name);
+        if (next == null || prev == null) {
+            return Map.of();
+        }
+        if (!prev.claimed) {
+            log.debug(DebugMarkers.DATA, "Not skipping entries of type {}: not all outputs are claimed by a generator", name);
+            return Map.of();
+        }
+        if (!Objects.equals(next.base, prev.base)) {
+            log.debug(DebugMarkers.DATA, "Not skipping entries of type {}: provider changed", name);
+            return Map.of();
+        }
+        Map<String, Map<Path, byte[]>> ret = new LinkedHashMap<>();
+        for (var e : next.entries.entrySet()) {
+            if (e.getKey().startsWith(UNASSOCIATED)) {
+                continue;
+            }
+            EntryRecord prevEntry = prev.entries.get(e.getKey());
+            if (prevEntry == null || prevEntry.feedsLang || prevEntry.shared || !Objects.equals(prevEntry.fingerprint, e.getValue().fingerprint)) {
+                continue;
+            }
+            Map<Path, byte[]> outputs = readOutputs(prevEntry.outputs, prev);
+            if (outputs != null) {
+                ret.put(e.getKey(), outputs);
+            }
+        }
+        return ret;
+    }
+
+    private TypeRecord finish(ProviderType<?> type, TypeRecord record, Run run) {
+        TypeRecord prev = previous.types.get(name(type));
+        record.outputs = new TreeMap<>(run.outputs);
+        record.claimed = run.claims.keySet().containsAll(run.outputs.keySet());
+        record.feedsLang = type != ProviderType.LANG && !run.langFeeders.isEmpty();
+        for (var e : record.entries.entrySet()) {
+            String key = e.getKey();
+            EntryRecord entry = e.getValue();
+            if (run.skipped.containsKey(key)) {
+                entry.outputs = prev.entries.get(key).outputs;
+                entry.shared = run.overlapping.contains(key);
+            } else {
+                entry.feedsLang = run.langFeeders.contains(key);
+                for (var claim : run.claims.entrySet()) {
+                    if (claim.getValue().contains(key) && run.outputs.containsKey(claim.getKey())) {
+                        entry.outputs.add(claim.getKey());
+                        entry.shared |= claim.getValue().size() > 1 || run.reused.containsKey(claim.getKey());
+                    }
+                }
+            }
+        }
+        if (!run.overlapping.isEmpty()) {
+            log.warn("Data of type {} generated for changed entries overlaps the reused outputs of unchanged entries {}. These are regenerated from now on, rerun data generation to make sure"
+                    + " all outputs are up to date.", name(type), run.overlapping);
+        }
+        totalEntries.addAndGet(record.entries.size());
+        skippedEntries.addAndGet(run.skipped.size());
+        return record;
+    }
+
+    private @Nullable TypeRecord fingerprint(ProviderType<?> type, RegistrateProvider provider) {
+        Map<String, HashCode> entries = parent.fingerprintDataGenerators(type);
+        HashCode providerClass = DatagenFingerprinter.classClosure(provider.getClass());
+        HashCode registrateClass = DatagenFingerprinter.classClosure(parent.getClass());
+        if (entries == null || providerClass == null || registrateClass == null) {
+            return null;
+        }
+        Hasher base = Hashing.murmur3_128().newHasher()
+                .putInt(VERSION)
+                .putString(SharedConstants.getCurrentVersion().getName(), StandardCharsets.UTF_8)
+                .putBytes(registrateClass.asBytes())
+                .putBytes(providerClass.asBytes());
+        if (provider instanceof Fingerprinted f) {
+            // Inputs the provider reads itself, outside of any generator
+            f.fingerprint(base);
+        }
+        TypeRecord ret = new TypeRecord();
+        ret.base = base.hash().toString();
+        Hasher hasher = Hashing.murmur3_128().newHasher().putString(ret.base, StandardCharsets.UTF_8);
+        // Keys are unique, but generator order matters (later generators may overwrite earlier outputs)
+        for (var e : entries.entrySet()) {
+            hasher.putString(e.getKey(), StandardCharsets.UTF_8).putBytes(e.getValue().asBytes());
+            EntryRecord entry = new EntryRecord();
+            entry.fingerprint = e.getValue().toString();
+            ret.entries.put(e.getKey(), entry);
+        }
+        ret.fingerprint = hasher.hash().toString();
+        return ret;
+    }
+
+    private void logChangedEntries(String type, TypeRecord prev, TypeRecord next) {
+        if (!log.isDebugEnabled(DebugMarkers.DATA)) {
+            return;
+        }
+        if (!Objects.equals(prev.base, next.base)) {
+            log.debug(DebugMarkers.DATA, "Provider of type {} changed", type);
+        }
+        Set<String> keys = new HashSet<>(prev.entries.keySet());
+        keys.addAll(next.entries.keySet());
+        for (String key : keys) {
+            EntryRecord before = prev.entries.get(key);
+            EntryRecord after = next.entries.get(key);
+            if (before == null || after == null || !Objects.equals(before.fingerprint, after.fingerprint)) {
+                log.debug(DebugMarkers.DATA, "Data generator of type {} for {} changed", type, key);
+            }
+        }
+    }
+
+    /**
+     * @return The contents of the given previous outputs, or {@code null} if any of them are missing or were modified since
+     */
+    private @Nullable Map<Path, byte[]> readOutputs(Set<String> outputs, TypeRecord record) {
+        Map<Path, byte[]> ret = new LinkedHashMap<>();
+        for (String output : outputs) {
+            Path path = outputFolder.resolve(output);
+            try {
+                byte[] data = Files.readAllBytes(path);
+                if (!sha1(data).toString().equals(record.outputs.get(output))) {
+                    return null;
+                }
+                ret.put(path, data);
+            } catch (IOException ex) {
+                return null;
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Let other providers know that this file still exists, as if it had been generated.
+     */
+    private void trackGenerated(Path relative) {
+        // <assets|data>/<namespace>/<folder>/<path...>
+        if (existingFileHelper == null || relative.getNameCount() < 4) {
+            return;
+        }
+        PackType packType = switch (relative.getName(0).toString()) {
+            case "assets" -> PackType.CLIENT_RESOURCES;
+            case "data" -> PackType.SERVER_DATA;
+            default -> null;
+        };
+        if (packType == null) {
+            return;
+        }
+        String folder = relative.getName(2).toString();
+        String path = relative.subpath(3, relative.getNameCount()).toString().replace('\\', '/');
+        try {
+            existingFileHelper.trackGenerated(new ResourceLocation(relative.getName(1).toString(), path), packType, "", folder);
+        } catch (ResourceLocationException e) {
+            // Not a resource, nothing could look it up anyways
+        }
+    }
+
+    private String relativize(Path path) {
+        return outputFolder.relativize(path).toString().replace('\\', '/');
+    }
+
+    @SuppressWarnings("deprecation")
+    private static HashCode sha1(byte[] data) {
+        // Matches DataProvider.saveStable
+        return Hashing.sha1().hashBytes(data);
+    }
+
+    private static String name(ProviderType<?> type) {
+        String name = RegistrateDataProvider.getTypeName(type);
+        return name == null ? type.toString() : name;
+    }
+
+    private static Index load(Path file) {
+        if (Files.exists(file)) {
+            try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                Index index = GSON.fromJson(in, Index.class);
+                if (index != null && index.version == VERSION && index.types != null) {
+                    return index;
+                }
+            } catch (IOException | JsonParseException e) {
+                log.warn("Discarding unreadable incremental datagen index {}", file, e);
+            }
+        }
+        return new Index();
+    }
+}
@@ -35,20 +35,21 @@ import java.util.Map;
 public interface ProviderType<T extends RegistrateProvider> {
 
     // SERVER DATA
-    public static final ProviderType<RegistrateRecipeProvider> RECIPE = register("recipe", (p, e) -> new RegistrateRecipeProvider(p, e.getGenerator().getPackOutput(), e.getLookupProvider()));
-    public static final ProviderType<RegistrateAdvancementProvider> ADVANCEMENT = register("advancement", (p, e) -> new RegistrateAdvancementProvider(p, e.getGenerator().getPackOutput(), e.getLookupProvider()));
-    public static final ProviderType<RegistrateLootTableProvider> LOOT = register("loot", (p, e) -> new RegistrateLootTableProvider(p, e.getGenerator().getPackOutput()));
-    public static final ProviderType<RegistrateTagsProvider.IntrinsicImpl<Block>> BLOCK_TAGS = register("tags/block", type -> (p, e) -> new RegistrateTagsProvider.IntrinsicImpl<Block>(p, type, "blocks", e.getGenerator().getPackOutput(), Registries.BLOCK, e.getLookupProvider(), block -> block.builtInRegistryHolder().key(), e.getExistingFileHelper()));
-    public static final ProviderType<RegistrateItemTagsProvider> ITEM_TAGS = registerDelegate("tags/item", type -> (p, e, existing) -> new RegistrateItemTagsProvider(p, type, "items", e.getGenerator().getPackOutput(), e.getLookupProvider(), ((TagsProvider<Block>)existing.get(BLOCK_TAGS)).contentsGetter(), e.getExistingFileHelper()));
-    public static final ProviderType<RegistrateTagsProvider.IntrinsicImpl<Fluid>> FLUID_TAGS = register("tags/fluid", type -> (p, e) -> new RegistrateTagsProvider.IntrinsicImpl<Fluid>(p, type, "fluids", e.getGenerator().getPackOutput(), Registries.FLUID, e.getLookupProvider(), fluid -> fluid.builtInRegistryHolder().key(), e.getExistingFileHelper()));
-    public static final ProviderType<RegistrateTagsProvider.IntrinsicImpl<EntityType<?>>> ENTITY_TAGS = register("tags/entity", type -> (p, e) -> new RegistrateTagsProvider.IntrinsicImpl<EntityType<?>>(p, type, "entity_types", e.getGenerator().getPackOutput(), Registries.ENTITY_TYPE, e.getLookupProvider(), entityType -> entityType.builtInRegistryHolder().key(), e.getExistingFileHelper()));
-    public static final ProviderType<RegistrateGenericProvider> GENERIC_SERVER = ProviderType.register("registrate_generic_server_provider", providerType -> (registrate, event) -> new RegistrateGenericProvider(registrate, event, LogicalSide.SERVER, providerType));
+    public static final ProviderType<RegistrateRecipeProvider> RECIPE = isolated(sided(LogicalSide.SERVER, register("recipe", (p, e) -> new RegistrateRecipeProvider(p, e.getGenerator().getPackOutput(), e.getLookupProvider()))));
+    public static final ProviderType<RegistrateAdvancementProvider> ADVANCEMENT = isolated(sided(LogicalSide.SERVER, register("advancement", (p, e) -> new RegistrateAdvancementProvider(p, e.getGenerator().getPackOutput(), e.getLookupProvider()))));
+    public static final ProviderType<RegistrateLootTableProvider> LOOT = isolated(sided(LogicalSide.SERVER, register("loot", (p, e) -> new RegistrateLootTableProvider(p, e.getGenerator().getPackOutput()))));
+    public static final ProviderType<RegistrateTagsProvider.IntrinsicImpl<Block>> BLOCK_TAGS = sided(LogicalSide.SERVER, register("tags/block", type -> (p, e) -> new RegistrateTagsProvider.IntrinsicImpl<Block>(p, type, "blocks", e.getGenerator().getPackOutput(), Registries.BLOCK, e.getLookupProvider(), block -> block.builtInRegistryHolder().key(), e.getExistingFileHelper())));
+    public static final ProviderType<RegistrateItemTagsProvider> ITEM_TAGS = sided(LogicalSide.SERVER, registerDelegate("tags/item", type -> (p, e, existing) -> new RegistrateItemTagsProvider(p, type, "items", e.getGenerator().getPackOutput(), e.getLookupProvider(), ((TagsProvider<Block>)existing.get(BLOCK_TAGS)).contentsGetter(), e.getExistingFileHelper())));
+    public static final ProviderType<RegistrateTagsProvider.IntrinsicImpl<Fluid>> FLUID_TAGS = sided(LogicalSide.SERVER, register("tags/fluid", type -> (p, e) -> new RegistrateTagsProvider.IntrinsicImpl<Fluid>(p, type, "fluids", e.getGenerator().getPackOutput(), Registries.FLUID, e.getLookupProvider(), fluid -> fluid.builtInRegistryHolder().key(), e.getExistingFileHelper())));
+    public static final ProviderType<RegistrateTagsProvider.IntrinsicImpl<EntityType<?>>> ENTITY_TAGS = sided(LogicalSide.SERVER, register("tags/entity", type -> (p, e) -> new RegistrateTagsProvider.IntrinsicImpl<EntityType<?>>(p, type, "entity_types", e.getGenerator().getPackOutput(), Registries.ENTITY_TYPE, e.getLookupProvider(), entityType -> entityType.builtInRegistryHolder().key(), e.getExistingFileHelper())));
+    public static final ProviderType<RegistrateGenericProvider> GENERIC_SERVER = sided(LogicalSide.SERVER, ProviderType.register("registrate_generic_server_provider", providerType -> (registrate, event) -> new RegistrateGenericProvider(registrate, event, LogicalSide.SERVER, providerType)));
 
     // CLIENT DATA
-    public static final ProviderType<RegistrateBlockstateProvider> BLOCKSTATE = register("blockstate", (p, e) -> new RegistrateBlockstateProvider(p, e.getGenerator().getPackOutput(), e.getExistingFileHelper()));
-    public static final ProviderType<RegistrateItemModelProvider> ITEM_MODEL = register("item_model", (p, e, existing) -> new RegistrateItemModelProvider(p, e.getGenerator().getPackOutput(), ((RegistrateBlockstateProvider)existing.get(BLOCKSTATE)).getExistingFileHelper()));
-    public static final ProviderType<RegistrateLangProvider> LANG = register("lang", (p, e) -> new RegistrateLangProvider(p, e.getGenerator().getPackOutput()));
-    public static final ProviderType<RegistrateGenericProvider> GENERIC_CLIENT = ProviderType.register("registrate_generic_client_provider", providerTYpe -> (registrate, event) -> new RegistrateGenericProvider(registrate, event, LogicalSide.CLIENT, providerTYpe));
+    public static final ProviderType<RegistrateBlockstateProvider> BLOCKSTATE = sided(LogicalSide.CLIENT, register("blockstate", (p, e) -> new RegistrateBlockstateProvider(p, e.getGenerator().getPackOutput(), e.getExistingFileHelper())));
+    public static final ProviderType<RegistrateItemModelProvider> ITEM_MODEL = sided(LogicalSide.CLIENT, register("item_model", (p, e, existing) -> new RegistrateItemModelProvider(p, e.getGenerator().getPackOutput(), ((RegistrateBlockstateProvider)existing.get(BLOCKSTATE)).getExistingFileHelper())));
+    public static final ProviderType<RegistrateLangProvider> LANG = isolated(sided(LogicalSide.CLIENT, register("lang", (p, e) -> new RegistrateLangProvider(p, e.getGenerator().getPackOutput()))));
+    public static final ProviderType<RegistrateLocalesProvider> LOCALES = sided(LogicalSide.CLIENT, register("locales", (p, e, existing) -> new RegistrateLocalesProvider(p, e.getGenerator().getPackOutput(), e.getExistingFileHelper(), (RegistrateLangProvider) existing.get(LANG))));
+    public static final ProviderType<RegistrateGenericProvider> GENERIC_CLIENT = sided(LogicalSide.CLIENT, ProviderType.register("registrate_generic_client_provider", providerTYpe -> (registrate, event) -> new RegistrateGenericProvider(registrate, event, LogicalSide.CLIENT, providerTYpe)));
 
     T create(AbstractRegistrate<?> parent, GatherDataEvent event, Map<ProviderType<?>, RegistrateProvider> existing);
 
@@ -89,6 +90,36 @@ public interface ProviderType<T extends RegistrateProvider> {
         return register(name, ret);
     }
 
+    /**
+     * Mark a provider type as isolated, meaning its provider shares no mutable state with other providers. In particular, it must not use the {@link net.neoforged.neoforge.common.data.ExistingFileHelper
+     * ExistingFileHelper}. Isolated providers may run in parallel with others when {@link AbstractRegistrate#parallelDatagen(java.util.concurrent.Executor) parallel datagen} is enabled.
+     *
+     * @param type
+     *            The type to mark
+     * @return The type
+     */
+    @Nonnull
+    static <T extends RegistrateProvider> ProviderType<T> isolated(ProviderType<T> type) {
+        RegistrateDataProvider.ISOLATED.add(type);
+        return type;
+    }
+
+    /**
+     * Declare the side of a provider type, which must match {@link RegistrateProvider#getSide()} of its providers. Providers of declared types are never created when their side is not being
+     * generated. Providers of undeclared types are created (if needed), and then discarded if their side is not being generated.
+     *
+     * @param side
+     *            The side of the type's providers
+     * @param type
+     *            The type to declare the side of
+     * @return The type
+     */
+    @Nonnull
+    static <T extends RegistrateProvider> ProviderType<T> sided(LogicalSide side, ProviderType<T> type) {
+        RegistrateDataProvider.SIDES.put(type, side);
+        return type;
+    }
+
     @Nonnull
     static <T extends RegistrateProvider> ProviderType<T> register(String name, ProviderType<T> type) {
         RegistrateDataProvider.TYPES.put(name, type);
@@ -1,8 +1,6 @@
 package com.tterrag.registrate.providers;
 
 import com.google.common.collect.Lists;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.tterrag.registrate.AbstractRegistrate;
 import lombok.extern.log4j.Log4j2;
 
@@ -28,8 +26,6 @@ import java.util.function.Consumer;
 @Log4j2
 public class RegistrateAdvancementProvider implements RegistrateProvider, Consumer<AdvancementHolder> {
 
-    private static final Gson GSON = (new GsonBuilder()).setPrettyPrinting().create();
-
     private final AbstractRegistrate<?> owner;
     private final PackOutput packOutput;
     private final CompletableFuture<HolderLookup.Provider> registriesLookup;
@@ -86,6 +82,7 @@ public class RegistrateAdvancementProvider implements RegistrateProvider, Consum
             throw new IllegalStateException("Duplicate advancement " + holder.id());
         } else {
             Path path1 = getPath(path, holder);
+            owner.claimDataOutput(PackOutput.Target.DATA_PACK, "advancements", holder.id());
             advancementsToSave.add(DataProvider.saveStable(cache,Advancement.CODEC, holder.value() , path1));
         }
     }
@@ -2,15 +2,21 @@ package com.tterrag.registrate.providers;
 
 import com.tterrag.registrate.AbstractRegistrate;
 
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.data.PackOutput;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.level.block.Block;
 import net.neoforged.fml.LogicalSide;
 import net.neoforged.neoforge.client.model.generators.BlockStateProvider;
+import net.neoforged.neoforge.client.model.generators.ModelProvider;
 import net.neoforged.neoforge.client.model.generators.MultiPartBlockStateBuilder;
 import net.neoforged.neoforge.client.model.generators.VariantBlockStateBuilder;
 import net.neoforged.neoforge.common.data.ExistingFileHelper;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class RegistrateBlockstateProvider extends BlockStateProvider implements RegistrateProvider {
 
@@ -26,9 +32,42 @@ public class RegistrateBlockstateProvider extends BlockStateProvider implements
         return LogicalSide.CLIENT;
     }
 
+    /** Models created so far, only tracked for incremental datagen, see {@link #claimNewModels()} */
+    private final Set<ResourceLocation> knownModels = new HashSet<>();
+
     @Override
     protected void registerStatesAndModels() {
-        parent.genData(ProviderType.BLOCKSTATE, this);
+        knownModels.clear();
+        parent.genData(ProviderType.BLOCKSTATE, this, parent.isIncrementalDatagen() ? this::claimNewModels : null);
+    }
+
+    /**
+     * Claim the models created by the generator that just ran. The model providers of this provider are not Registrate's own, so new models are found by comparing against those created before.
+     */
+    private void claimNewModels() {
+        for (ModelProvider<?> models : List.of(models(), itemModels())) {
+            for (ResourceLocation model : models.generatedModels.keySet()) {
+                if (knownModels.add(model)) {
+                    parent.claimDataOutput(PackOutput.Target.RESOURCE_PACK, "models", model);
+                }
+            }
+        }
+    }
+
+    @Override
+    public VariantBlockStateBuilder getVariantBuilder(Block b) {
+        claimBlockState(b);
+        return super.getVariantBuilder(b);
+    }
+
+    @Override
+    public MultiPartBlockStateBuilder getMultipartBuilder(Block b) {
+        claimBlockState(b);
+        return super.getMultipartBuilder(b);
+    }
+
+    private void claimBlockState(Block block) {
+        parent.claimDataOutput(PackOutput.Target.RESOURCE_PACK, "blockstates", BuiltInRegistries.BLOCK.getKey(block));
     }
 
     @Override
@@ -42,6 +81,7 @@ public class RegistrateBlockstateProvider extends BlockStateProvider implements
 
     @SuppressWarnings("null")
     public Optional<VariantBlockStateBuilder> getExistingVariantBuilder(Block block) {
+        claimBlockState(block);
         return Optional.ofNullable(registeredBlocks.get(block))
                 .filter(b -> b instanceof VariantBlockStateBuilder)
                 .map(b -> (VariantBlockStateBuilder) b);
@@ -49,6 +89,7 @@ public class RegistrateBlockstateProvider extends BlockStateProvider implements
 
     @SuppressWarnings("null")
     public Optional<MultiPartBlockStateBuilder> getExistingMultipartBuilder(Block block) {
+        claimBlockState(block);
         return Optional.ofNullable(registeredBlocks.get(block))
                 .filter(b -> b instanceof MultiPartBlockStateBuilder)
                 .map(b -> (MultiPartBlockStateBuilder) b);
@@ -1,22 +1,31 @@
 package com.tterrag.registrate.providers;
 
 import com.google.common.collect.BiMap;
+import com.google.common.collect.ForwardingMap;
 import com.google.common.collect.HashBiMap;
-import com.google.common.collect.Lists;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
 import com.tterrag.registrate.AbstractRegistrate;
 import com.tterrag.registrate.util.DebugMarkers;
 import com.tterrag.registrate.util.nullness.NonnullType;
 import lombok.extern.log4j.Log4j2;
+import org.jetbrains.annotations.ApiStatus;
 
 import net.minecraft.core.HolderLookup;
 import net.minecraft.data.CachedOutput;
 import net.minecraft.data.DataProvider;
 import net.neoforged.fml.LogicalSide;
+import net.neoforged.neoforge.common.data.ExistingFileHelper;
 import net.neoforged.neoforge.data.event.GatherDataEvent;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Log4j2
@@ -24,18 +33,50 @@ public class RegistrateDataProvider implements DataProvider {
 
     @SuppressWarnings("null")
     static final BiMap<String, ProviderType<?>> TYPES = HashBiMap.create();
+    /** Types which share no state with other providers, see {@link ProviderType#isolated(ProviderType)} */
+    static final Set<ProviderType<?>> ISOLATED = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    /** Declared sides of types, see {@link ProviderType#sided(LogicalSide, ProviderType)} */
+    static final Map<ProviderType<?>, LogicalSide> SIDES = new ConcurrentHashMap<>();
 
     public static @Nullable String getTypeName(ProviderType<?> type) {
         return TYPES.inverse().get(type);
     }
 
+    private final AbstractRegistrate<?> parent;
     private final String mod;
+    private final GatherDataEvent event;
+    private final Set<LogicalSide> sides;
+    /** All providers created so far, for any side, see {@link #getOrCreate(ProviderType)} */
+    private final Map<ProviderType<?>, RegistrateProvider> known = new HashMap<>();
+    /** Types whose providers are being created, to break lookup cycles */
+    private final Set<ProviderType<?>> creating = new HashSet<>();
+    /** Providers to run, in creation order. Fixed once running */
     private final Map<ProviderType<?>, RegistrateProvider> subProviders = new LinkedHashMap<>();
+    /** Providers to run that were created once running, which run after all others */
+    private final Deque<ProviderType<?>> lateProviders = new ArrayDeque<>();
+    private boolean running;
+    private boolean done;
+    /** Provider types looked up by each provider type during creation */
+    private final Multimap<ProviderType<?>, ProviderType<?>> dependencies = HashMultimap.create();
     private final CompletableFuture<HolderLookup.Provider> registriesLookup;
+    private final Path outputFolder;
+    private final ExistingFileHelper existingFileHelper;
+    /** Only set while running with {@link AbstractRegistrate#incrementalDatagen(boolean) incremental datagen} */
+    @Nullable
+    private volatile IncrementalDatagen incrementalDatagen;
 
+    /**
+     * Providers are only created when needed. That is the case when they have data generators (see {@link #needed(ProviderType)}), when another provider looks them up while being created, or when
+     * they are requested through {@link #getSubProvider(ProviderType)}. Providers can still be created this way once running, or when a data generator is added for a new type, in which case they run
+     * after all other providers. Providers of types whose {@link ProviderType#sided(LogicalSide, ProviderType) declared side} is not being generated are never created.
+     */
     public RegistrateDataProvider(AbstractRegistrate<?> parent, String modid, GatherDataEvent event) {
+        this.parent = parent;
         this.mod = modid;
+        this.event = event;
         this.registriesLookup = event.getLookupProvider();
+        this.outputFolder = event.getGenerator().getPackOutput().getOutputFolder();
+        this.existingFileHelper = event.getExistingFileHelper();
 
         EnumSet<LogicalSide> sides = EnumSet.noneOf(LogicalSide.class);
         if (event.includeServer()) {
@@ -45,40 +86,294 @@ public class RegistrateDataProvider implements DataProvider {
             sides.add(LogicalSide.CLIENT);
         }
 
+        this.sides = sides;
+
         log.debug(DebugMarkers.DATA, "Gathering providers for sides: {}", sides);
-        Map<ProviderType<?>, RegistrateProvider> known = new HashMap<>();
         for (String id : TYPES.keySet()) {
             ProviderType<?> type = TYPES.get(id);
-            RegistrateProvider prov = type.create(parent, event, known);
-            known.put(type, prov);
-            if (sides.contains(prov.getSide())) {
-                log.debug(DebugMarkers.DATA, "Adding provider for type: {}", id);
+            if (isExcluded(type)) {
+                log.debug(DebugMarkers.DATA, "Skipping provider for type {} of side {}", id, SIDES.get(type));
+            } else if (needed(type)) {
+                getOrCreate(type);
+            } else {
+                log.debug(DebugMarkers.DATA, "Skipping provider for type {} without data generators", id);
+            }
+        }
+        log.debug(DebugMarkers.DATA, "Created {} of {} providers for {}", known.size(), TYPES.size(), modid);
+    }
+
+    private boolean isExcluded(ProviderType<?> type) {
+        LogicalSide side = SIDES.get(type);
+        return side != null && !sides.contains(side);
+    }
+
+    /**
+     * @return Whether a provider of the given type is needed regardless of lookups, which is the case if it has data generators. The lang provider is always needed, as raw lang entries may be
+     *         added while other generators run, and the locales provider generates from translation tables alone.
+     */
+    private boolean needed(ProviderType<?> type) {
+        if (type == ProviderType.LANG || (type == ProviderType.LOCALES && !parent.getLocales().isEmpty())) {
+            return true;
+        }
+        return !parent.getDataGenerators(type).isEmpty();
+    }
+
+    /**
+     * Get the provider of the given type, creating it if necessary. Providers created before running are run if their side is being generated. Providers of other types looked up through the
+     * {@code existing} map during creation are created as well, before the provider that looked them up, and recorded as its dependencies.
+     *
+     * @return The provider, or {@code null} if there is a lookup cycle and it is still being created
+     */
+    @Nullable
+    private synchronized RegistrateProvider getOrCreate(ProviderType<?> type) {
+        RegistrateProvider prov = known.get(type);
+        if (prov != null || !creating.add(type)) {
+            return prov;
+        }
+        try {
+            prov = type.create(parent, event, new ForwardingMap<>() {
+
+                @Override
+                protected Map<ProviderType<?>, RegistrateProvider> delegate() {
+                    return known;
+                }
+
+                @Override
+                public RegistrateProvider get(@Nullable Object key) {
+                    if (key instanceof ProviderType<?> dependency) {
+                        // Only needed for scheduling, which is fixed once running
+                        if (!running) {
+                            dependencies.put(type, dependency);
+                        }
+                        return getOrCreate(dependency);
+                    }
+                    return super.get(key);
+                }
+            });
+        } finally {
+            creating.remove(type);
+        }
+        known.put(type, prov);
+        if (sides.contains(prov.getSide())) {
+            if (!running) {
+                log.debug(DebugMarkers.DATA, "Adding provider for type: {}", getTypeName(type));
                 subProviders.put(type, prov);
+            } else if (!done) {
+                log.debug(DebugMarkers.DATA, "Adding provider for type {} created during data generation, it runs after all other providers", getTypeName(type));
+                lateProviders.add(type);
+            } else {
+                log.warn("Provider for type {} of {} was created after data generation finished, its data is not generated", getTypeName(type), mod);
             }
         }
+        return prov;
     }
 
     @Override
     public CompletableFuture<?> run(CachedOutput cache) {
+        synchronized (this) {
+            running = true;
+        }
         return registriesLookup.thenCompose(provider -> {
-            var list = Lists.<CompletableFuture<?>>newArrayList();
+            IncrementalDatagen incremental = parent.isIncrementalDatagen() ? new IncrementalDatagen(parent, subProviders, dependencies, outputFolder, existingFileHelper) : null;
+            this.incrementalDatagen = incremental;
+            Executor executor = parent.getDatagenExecutor();
+            Map<ProviderType<?>, Set<ProviderType<?>>> graph = dependencyGraph();
+            Map<ProviderType<?>, CompletableFuture<?>> futures = new LinkedHashMap<>();
+            Map<ProviderType<?>, Long> durations = new ConcurrentHashMap<>();
 
-            for (Map.Entry<@NonnullType ProviderType<?>, RegistrateProvider> e : subProviders.entrySet()) {
-                log.debug(DebugMarkers.DATA, "Generating data for type: {}", getTypeName(e.getKey()));
-                list.add(e.getValue().run(cache));
+            for (Map.Entry<@NonnullType ProviderType<?>, Set<ProviderType<?>>> e : graph.entrySet()) {
+                ProviderType<?> type = e.getKey();
+                RegistrateProvider prov = subProviders.get(type);
+                if (incremental != null && !incremental.isDirty(type)) {
+                    log.debug(DebugMarkers.DATA, "Skipping unchanged data for type: {}", getTypeName(type));
+                    try {
+                        incremental.reuse(type, cache);
+                    } catch (IOException ex) {
+                        futures.put(type, CompletableFuture.failedFuture(ex));
+                    }
+                } else if (executor == null) {
+                    futures.put(type, runProvider(type, prov, cache, incremental, durations));
+                } else {
+                    // Types are in dependency order, so dependencies are always scheduled first
+                    CompletableFuture<?>[] deps = e.getValue().stream().map(futures::get).filter(Objects::nonNull).toArray(CompletableFuture[]::new);
+                    futures.put(type, CompletableFuture.allOf(deps).thenComposeAsync($ -> runProvider(type, prov, cache, incremental, durations), executor));
+                }
             };
 
-            return CompletableFuture.allOf(list.toArray(CompletableFuture[]::new));
+            return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).thenCompose($ -> runLateProviders(cache, incremental, graph, durations)).thenRun(() -> {
+                synchronized (this) {
+                    done = true;
+                }
+                logCriticalPath(graph, durations);
+                if (incremental != null) {
+                    incremental.save(subProviders.size());
+                    this.incrementalDatagen = null;
+                }
+            });
         });
     }
 
+    private CompletableFuture<?> runProvider(ProviderType<?> type, RegistrateProvider prov, CachedOutput cache, @Nullable IncrementalDatagen incremental, Map<ProviderType<?>, Long> durations) {
+        log.debug(DebugMarkers.DATA, "Generating data for type: {}", getTypeName(type));
+        long start = System.nanoTime();
+        CompletableFuture<?> ret = incremental == null ? prov.run(cache) : incremental.run(type, prov, cache);
+        return ret.whenComplete(($, $$) -> durations.put(type, System.nanoTime() - start));
+    }
+
+    /**
+     * Run the providers created once running, one after another, until no more are created. They may have been written to by any provider, so they run after all of them.
+     */
+    private CompletableFuture<?> runLateProviders(CachedOutput cache, @Nullable IncrementalDatagen incremental, Map<ProviderType<?>, Set<ProviderType<?>>> graph, Map<ProviderType<?>, Long> durations) {
+        ProviderType<?> type;
+        RegistrateProvider prov;
+        synchronized (this) {
+            type = lateProviders.poll();
+            if (type == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            prov = known.get(type);
+        }
+        graph.put(type, new LinkedHashSet<>(graph.keySet()));
+        return runProvider(type, prov, cache, incremental, durations).thenCompose($ -> runLateProviders(cache, incremental, graph, durations));
+    }
+
+    /**
+     * Build the scheduling graph over all sub-providers, mapping each type to the types that must complete before it. Types are ordered so that dependencies come first, and in creation order
+     * otherwise.
+     * <ul>
+     * <li>Types depend on every type they looked up in the {@code existing} map during creation.</li>
+     * <li>The lang provider depends on all types except those that depend on it (such as the locales provider), as their generators may add lang entries. This keeps the lang files the same no
+     * matter how providers are scheduled.</li>
+     * <li>Types that are not {@link ProviderType#isolated(ProviderType) isolated} share the {@link ExistingFileHelper}, which is not thread-safe, so each depends on the previous one. Those that
+     * depend on the lang provider come last in this chain, so that the others can run before it.</li>
+     * </ul>
+     */
+    private Map<ProviderType<?>, Set<ProviderType<?>>> dependencyGraph() {
+        Set<ProviderType<?>> types = subProviders.keySet();
+        Set<ProviderType<?>> langDependents = new HashSet<>();
+        for (boolean changed = true; changed;) {
+            changed = false;
+            for (ProviderType<?> type : types) {
+                if (!langDependents.contains(type) && dependencies.get(type).stream().anyMatch(dep -> dep == ProviderType.LANG || langDependents.contains(dep))) {
+                    changed = langDependents.add(type);
+                }
+            }
+        }
+
+        Map<ProviderType<?>, Set<ProviderType<?>>> deps = new HashMap<>();
+        for (ProviderType<?> type : types) {
+            deps.put(type, new LinkedHashSet<>(dependencies.get(type)));
+        }
+        List<ProviderType<?>> shared = new ArrayList<>();
+        types.stream().filter(type -> !ISOLATED.contains(type) && !langDependents.contains(type)).forEach(shared::add);
+        types.stream().filter(type -> !ISOLATED.contains(type) && langDependents.contains(type)).forEach(shared::add);
+        for (int i = 1; i < shared.size(); i++) {
+            deps.get(shared.get(i)).add(shared.get(i - 1));
+        }
+        if (deps.containsKey(ProviderType.LANG)) {
+            for (ProviderType<?> type : types) {
+                if (type != ProviderType.LANG && !langDependents.contains(type)) {
+                    deps.get(ProviderType.LANG).add(type);
+                }
+            }
+        }
+
+        Map<ProviderType<?>, Set<ProviderType<?>>> ret = new LinkedHashMap<>();
+        Set<ProviderType<?>> visiting = new HashSet<>();
+        for (ProviderType<?> type : types) {
+            addInDependencyOrder(type, deps, ret, visiting);
+        }
+        ret.values().forEach(d -> d.retainAll(types));
+        return ret;
+    }
+
+    private static void addInDependencyOrder(ProviderType<?> type, Map<ProviderType<?>, Set<ProviderType<?>>> deps, Map<ProviderType<?>, Set<ProviderType<?>>> ret, Set<ProviderType<?>> visiting) {
+        // Lookup cycles are broken at the type that was visited first
+        if (ret.containsKey(type) || !visiting.add(type)) {
+            return;
+        }
+        for (ProviderType<?> dep : deps.get(type)) {
+            if (deps.containsKey(dep)) {
+                addInDependencyOrder(dep, deps, ret, visiting);
+            }
+        }
+        ret.put(type, deps.get(type));
+    }
+
+    /**
+     * Log the longest chain of dependent providers, which bounds the time data generation can take no matter how many threads are available.
+     */
+    private void logCriticalPath(Map<ProviderType<?>, Set<ProviderType<?>>> graph, Map<ProviderType<?>, Long> durations) {
+        Map<ProviderType<?>, Long> pathTime = new HashMap<>();
+        Map<ProviderType<?>, ProviderType<?>> predecessor = new HashMap<>();
+        ProviderType<?> last = null;
+        for (var e : graph.entrySet()) {
+            long before = 0;
+            ProviderType<?> slowest = null;
+            for (ProviderType<?> dep : e.getValue()) {
+                long depTime = pathTime.getOrDefault(dep, 0L);
+                if (slowest == null || depTime > before) {
+                    before = depTime;
+                    slowest = dep;
+                }
+            }
+            if (slowest != null) {
+                predecessor.put(e.getKey(), slowest);
+            }
+            long time = before + durations.getOrDefault(e.getKey(), 0L);
+            pathTime.put(e.getKey(), time);
+            if (last == null || time > pathTime.get(last)) {
+                last = e.getKey();
+            }
+        }
+        if (last == null) {
+            return;
+        }
+        Deque<String> path = new ArrayDeque<>();
+        for (ProviderType<?> type = last; type != null; type = predecessor.get(type)) {
+            path.addFirst(String.format(Locale.ROOT, "%s (%d ms)", getTypeName(type), TimeUnit.NANOSECONDS.toMillis(durations.getOrDefault(type, 0L))));
+        }
+        long total = durations.values().stream().mapToLong(Long::longValue).sum();
+        log.info("Data generation critical path for {}: {} ms of {} ms total provider time: {}", mod, TimeUnit.NANOSECONDS.toMillis(pathTime.get(last)), TimeUnit.NANOSECONDS.toMillis(total),
+                String.join(" -> ", path));
+    }
+
+    /**
+     * For internal use, get the state of incremental datagen, which data generators report their outputs to.
+     *
+     * @return The state of incremental datagen, or {@code null} if it is disabled or not running
+     */
+    @ApiStatus.Internal
+    public @Nullable IncrementalDatagen getIncrementalDatagen() {
+        return incrementalDatagen;
+    }
+
+    /**
+     * For internal use, create the provider of the given type if a data generator was added for it once running, so that the generator is not lost.
+     */
+    @ApiStatus.Internal
+    public synchronized void onDataGeneratorAdded(ProviderType<?> type) {
+        if (running && !known.containsKey(type) && !isExcluded(type)) {
+            getOrCreate(type);
+        }
+    }
+
     @Override
     public String getName() {
         return "Registrate Provider for " + mod + " [" + subProviders.values().stream().map(DataProvider::getName).collect(Collectors.joining(", ")) + "]";
     }
 
+    /**
+     * Get the provider of the given type, creating it if it was not needed so far. Providers created once running are run after all other providers.
+     *
+     * @return The provider, or empty if its side is not being generated
+     */
     @SuppressWarnings("unchecked")
-    public <P extends RegistrateProvider> Optional<P> getSubProvider(ProviderType<P> type) {
-        return Optional.ofNullable((P) subProviders.get(type));
+    public synchronized <P extends RegistrateProvider> Optional<P> getSubProvider(ProviderType<P> type) {
+        if (isExcluded(type)) {
+            return Optional.empty();
+        }
+        RegistrateProvider prov = getOrCreate(type);
+        return prov != null && sides.contains(prov.getSide()) ? Optional.of((P) prov) : Optional.empty();
     }
 }
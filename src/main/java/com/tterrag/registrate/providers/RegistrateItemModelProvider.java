@@ -37,6 +37,13 @@ public class RegistrateItemModelProvider extends ItemModelProvider implements Re
         return "Item models";
     }
 
+    @Override
+    public ItemModelBuilder getBuilder(String path) {
+        ItemModelBuilder ret = super.getBuilder(path);
+        parent.claimDataOutput(PackOutput.Target.RESOURCE_PACK, "models", ret.getLocation());
+        return ret;
+    }
+
     public String modid(NonNullSupplier<? extends ItemLike> item) {
         return BuiltInRegistries.ITEM.getKey(item.get().asItem()).getNamespace();
     }
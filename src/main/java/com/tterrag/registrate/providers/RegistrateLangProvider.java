@@ -1,5 +1,8 @@
 package com.tterrag.registrate.providers;
 
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import com.google.gson.stream.JsonWriter;
 import com.tterrag.registrate.AbstractRegistrate;
 import com.tterrag.registrate.util.nullness.NonNullSupplier;
 import com.tterrag.registrate.util.nullness.NonnullType;
@@ -7,10 +10,12 @@ import net.neoforged.fml.LogicalSide;
 import net.neoforged.neoforge.common.data.LanguageProvider;
 import org.apache.commons.lang3.StringUtils;
 
+import net.minecraft.Util;
 import net.minecraft.core.Registry;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.data.CachedOutput;
+import net.minecraft.data.DataProvider;
 import net.minecraft.data.PackOutput;
 import net.minecraft.network.chat.contents.TranslatableContents;
 import net.minecraft.resources.ResourceKey;
@@ -20,38 +25,35 @@ import net.minecraft.world.item.Item;
 import net.minecraft.world.level.ItemLike;
 import net.minecraft.world.level.block.Block;
 
-import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class RegistrateLangProvider extends LanguageProvider implements RegistrateProvider {
 
-    private static class AccessibleLanguageProvider extends LanguageProvider {
-
-        public AccessibleLanguageProvider(PackOutput packOutput, String modid, String locale) {
-            super(packOutput, modid, locale);
-        }
-
-        @Override
-        public void add(@Nullable String key, @Nullable String value) {
-            super.add(key, value);
-        }
-
-        @Override
-        protected void addTranslations() {}
-    }
-
     private final AbstractRegistrate<?> owner;
+    private final PackOutput packOutput;
 
-    private final AccessibleLanguageProvider upsideDown;
+    /**
+     * All translations, in the order they are written. The en_ud translations are derived while writing, rather than kept alongside.
+     */
+    private final Map<String, String> data = new TreeMap<>(DataProvider.KEY_COMPARATOR);
 
     public RegistrateLangProvider(AbstractRegistrate<?> owner, PackOutput packOutput) {
         super(packOutput, owner.getModid(), "en_us");
         this.owner = owner;
-        this.upsideDown = new AccessibleLanguageProvider(packOutput, owner.getModid(), "en_ud");
+        this.packOutput = packOutput;
     }
 
     @Override
@@ -108,8 +110,9 @@ public class RegistrateLangProvider extends LanguageProvider implements Registra
     }
 
     public void addTooltip(NonNullSupplier<? extends ItemLike> item, List<@NonnullType String> tooltip) {
+        String prefix = item.get().asItem().getDescriptionId() + ".desc.";
         for (int i = 0; i < tooltip.size(); i++) {
-            add(item.get().asItem().getDescriptionId() + ".desc." + i, tooltip.get(i));
+            add(prefix + i, tooltip.get(i));
         }
     }
 
@@ -139,46 +142,115 @@ public class RegistrateLangProvider extends LanguageProvider implements Registra
             /*  numbers  */ "0\u0196\u1105\u0190\u3123\u03DB9\u312586" +
             /*  special  */ "\u203E'\u061B\u02D9\u00BF\u00A1/\\,";
 
+    /** Upside down variant of each char in {@link #NORMAL_CHARS}, indexed by char, {@code 0} for chars that are not flipped */
+    private static final char[] UPSIDE_DOWN;
+
     static {
         if (NORMAL_CHARS.length() != UPSIDE_DOWN_CHARS.length()) {
             throw new AssertionError("Char maps do not match in length!");
         }
+        UPSIDE_DOWN = new char[NORMAL_CHARS.chars().max().orElse(0) + 1];
+        for (int i = 0; i < NORMAL_CHARS.length(); i++) {
+            UPSIDE_DOWN[NORMAL_CHARS.charAt(i)] = UPSIDE_DOWN_CHARS.charAt(i);
+        }
     }
 
-    private String toUpsideDown(String normal) {
-        char[] ud = new char[normal.length()];
-        for (int i = 0; i < normal.length(); i++) {
+    static String toUpsideDown(String normal) {
+        int length = normal.length();
+        char[] ud = new char[length];
+        for (int i = 0; i < length; i++) {
             char c = normal.charAt(i);
             if (c == '%') {
-                String fmtArg = "";
-                while (Character.isDigit(c) || c == '%' || c == '$' || c == 's' || c == 'd') { // TODO this is a bit lazy
-                    fmtArg += c;
-                    i++;
-                    c = i == normal.length() ? 0 : normal.charAt(i);
-                }
-                i--;
-                for (int j = 0; j < fmtArg.length(); j++) {
-                    ud[normal.length() - 1 - i + j] = fmtArg.charAt(j);
+                // Format arguments are kept readable, in their mirrored position
+                int end = i + 1;
+                while (end < length && isFormatChar(normal.charAt(end))) {  // TODO this is a bit lazy
+                    end++;
                 }
+                normal.getChars(i, end, ud, length - end);
+                i = end - 1;
                 continue;
             }
-            int lookup = NORMAL_CHARS.indexOf(c);
-            if (lookup >= 0) {
-                c = UPSIDE_DOWN_CHARS.charAt(lookup);
-            }
-            ud[normal.length() - 1 - i] = c;
+            char flipped = c < UPSIDE_DOWN.length ? UPSIDE_DOWN[c] : 0;
+            ud[length - 1 - i] = flipped == 0 ? c : flipped;
         }
         return new String(ud);
     }
 
+    private static boolean isFormatChar(char c) {
+        return Character.isDigit(c) || c == '%' || c == '$' || c == 's' || c == 'd';
+    }
+
+    /**
+     * Get all translations added so far, sorted by key. Complete once this provider has run.
+     *
+     * @return An unmodifiable view of the translations
+     */
+    public Map<String, String> getTranslations() {
+        return Collections.unmodifiableMap(data);
+    }
+
     @Override
     public void add(String key, String value) {
-        super.add(key, value);
-        upsideDown.add(key, toUpsideDown(value));
+        if (data.put(key, value) != null) {
+            throw new IllegalStateException("Duplicate translation key " + key);
+        }
     }
 
+    /**
+     * Write en_us and en_ud in a single pass over the translations, streaming each straight to JSON rather than building a JSON tree first. The output is identical to
+     * {@link DataProvider#saveStable(CachedOutput, com.google.gson.JsonElement, Path)}.
+     */
     @Override
     public CompletableFuture<?> run(CachedOutput cache) {
-        return CompletableFuture.allOf(super.run(cache), upsideDown.run(cache));
+        addTranslations();
+        if (data.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                LangWriter enUs = new LangWriter();
+                LangWriter enUd = new LangWriter();
+                for (Map.Entry<String, String> e : data.entrySet()) {
+                    enUs.add(e.getKey(), e.getValue());
+                    enUd.add(e.getKey(), toUpsideDown(e.getValue()));
+                }
+                enUs.save(cache, getPath("en_us"));
+                enUd.save(cache, getPath("en_ud"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, Util.backgroundExecutor());
+    }
+
+    private Path getPath(String locale) {
+        return packOutput.getOutputFolder(PackOutput.Target.RESOURCE_PACK).resolve(owner.getModid()).resolve("lang").resolve(locale + ".json");
+    }
+
+    /**
+     * Streams a flat lang JSON object in the same format as {@link DataProvider#saveStable(CachedOutput, com.google.gson.JsonElement, Path)}.
+     */
+    static class LangWriter {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        @SuppressWarnings({ "deprecation", "UnstableApiUsage" })
+        private final HashingOutputStream hashing = new HashingOutputStream(Hashing.sha1(), bytes);
+        private final JsonWriter writer = new JsonWriter(new OutputStreamWriter(hashing, StandardCharsets.UTF_8));
+
+        LangWriter() throws IOException {
+            // Same settings as DataProvider.saveStable
+            writer.setSerializeNulls(false);
+            writer.setIndent("  ");
+            writer.beginObject();
+        }
+
+        void add(String key, String value) throws IOException {
+            writer.name(key).value(value);
+        }
+
+        void save(CachedOutput cache, Path path) throws IOException {
+            writer.endObject();
+            writer.close();
+            cache.writeIfNeeded(path, bytes.toByteArray(), hashing.hash());
+        }
     }
 }
@@ -0,0 +1,251 @@
+package com.tterrag.registrate.providers;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nullable;
+
+import com.google.common.hash.Hasher;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.tterrag.registrate.AbstractRegistrate;
+import com.tterrag.registrate.util.Fingerprinted;
+
+import lombok.extern.log4j.Log4j2;
+import net.minecraft.Util;
+import net.minecraft.data.CachedOutput;
+import net.minecraft.data.PackOutput;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.util.GsonHelper;
+import net.neoforged.fml.LogicalSide;
+import net.neoforged.neoforge.common.data.ExistingFileHelper;
+
+/**
+ * Generates lang files for the locales declared with {@link AbstractRegistrate#locales(String...)}, translating the keys generated by {@link ProviderType#LANG}.
+ * <p>
+ * Translations for each locale are read from a translation table in the existing resources, {@code assets/<modid>/translations/<locale>.json} (a flat JSON object) or
+ * {@code assets/<modid>/translations/<locale>.csv} (two columns, key and value, with an optional {@code key,value} header). Generators of {@link ProviderType#LOCALES} can add or override translations
+ * with {@link #add(String, String, String)}, which also declares the locale.
+ * <p>
+ * Only keys known to the lang provider are written, in the same order. Untranslated keys fall back to en_us in game, and are counted in the log along with translations for keys that no longer exist.
+ * Locale files are written in parallel.
+ */
+@Log4j2
+public class RegistrateLocalesProvider implements RegistrateProvider, Fingerprinted {
+
+    /** Folder under {@code assets/<modid>} that translation tables are read from */
+    public static final String SOURCE_FOLDER = "translations";
+
+    private final AbstractRegistrate<?> owner;
+    private final PackOutput packOutput;
+    private final ExistingFileHelper existingFileHelper;
+    private final RegistrateLangProvider lang;
+
+    private final Map<String, Map<String, String>> added = new LinkedHashMap<>();
+    /** Whether the generators have run, either for {@link #fingerprint(Hasher)} or for {@link #run(CachedOutput)} */
+    private boolean generated;
+
+    public RegistrateLocalesProvider(AbstractRegistrate<?> owner, PackOutput packOutput, ExistingFileHelper existingFileHelper, RegistrateLangProvider lang) {
+        this.owner = owner;
+        this.packOutput = packOutput;
+        this.existingFileHelper = existingFileHelper;
+        this.lang = lang;
+    }
+
+    @Override
+    public LogicalSide getSide() {
+        return LogicalSide.CLIENT;
+    }
+
+    @Override
+    public String getName() {
+        return "Lang (locales)";
+    }
+
+    /**
+     * Add a translation, overriding the translation table of the locale if it has one.
+     *
+     * @param locale
+     *            The locale, such as {@code de_de}
+     * @param key
+     *            The translation key
+     * @param value
+     *            The translated value
+     */
+    public void add(String locale, String key, String value) {
+        if (added.computeIfAbsent(locale, $ -> new HashMap<>()).put(key, value) != null) {
+            throw new IllegalStateException("Duplicate translation key " + key + " for locale " + locale);
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> run(CachedOutput cache) {
+        Set<String> locales = getLocales();
+        Map<String, String> keys = lang.getTranslations();
+
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (String locale : locales) {
+            // Read sequentially, the existing file helper is not thread-safe
+            Map<String, String> translations = new HashMap<>();
+            try {
+                readTable(locale, translations::put);
+            } catch (IOException | JsonParseException e) {
+                futures.add(CompletableFuture.failedFuture(new IllegalStateException("Could not read translation table for locale " + locale, e)));
+                continue;
+            }
+            translations.putAll(added.getOrDefault(locale, Map.of()));
+            futures.add(CompletableFuture.runAsync(() -> write(cache, locale, keys, translations), Util.backgroundExecutor()));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Run the generators once, and get all locales to generate: the declared ones, and those that generators added translations for.
+     */
+    private Set<String> getLocales() {
+        if (!generated) {
+            generated = true;
+            owner.genData(ProviderType.LOCALES, this);
+        }
+        Set<String> locales = new LinkedHashSet<>(owner.getLocales());
+        locales.addAll(added.keySet());
+        return locales;
+    }
+
+    private void write(CachedOutput cache, String locale, Map<String, String> keys, Map<String, String> translations) {
+        int translated = 0;
+        try {
+            RegistrateLangProvider.LangWriter out = new RegistrateLangProvider.LangWriter();
+            for (String key : keys.keySet()) {
+                String value = translations.remove(key);
+                if (value != null) {
+                    out.add(key, value);
+                    translated++;
+                }
+            }
+            if (translated > 0) {
+                out.save(cache, packOutput.getOutputFolder(PackOutput.Target.RESOURCE_PACK).resolve(owner.getModid()).resolve("lang").resolve(locale + ".json"));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Whatever is left does not match any key
+        log.info("Locale {} for {}: translated {} of {} keys, {} missing, {} unused", locale, owner.getModid(), translated, keys.size(), keys.size() - translated, translations.size());
+        if (log.isDebugEnabled()) {
+            translations.keySet().stream().sorted().forEach(key -> log.debug("Unused translation for locale {}: {}", locale, key));
+        }
+    }
+
+    private void readTable(String locale, BiConsumer<String, String> into) throws IOException {
+        byte[] json = readSource(locale, ".json");
+        if (json != null) {
+            JsonObject object = GsonHelper.parse(new StringReader(new String(json, StandardCharsets.UTF_8)));
+            for (Map.Entry<String, JsonElement> e : object.entrySet()) {
+                into.accept(e.getKey(), GsonHelper.convertToString(e.getValue(), e.getKey()));
+            }
+        }
+        byte[] csv = readSource(locale, ".csv");
+        if (csv != null) {
+            readCsv(new StringReader(new String(csv, StandardCharsets.UTF_8)), into);
+        }
+    }
+
+    private @Nullable byte[] readSource(String locale, String extension) throws IOException {
+        ResourceLocation location = new ResourceLocation(owner.getModid(), SOURCE_FOLDER + "/" + locale + extension);
+        try (InputStream in = existingFileHelper.getResource(location, PackType.CLIENT_RESOURCES).open()) {
+            return in.readAllBytes();
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Read two-column CSV rows, with RFC 4180 quoting. Rows with fewer than two columns are skipped, as is a {@code key,value} header.
+     */
+    static void readCsv(Reader in, BiConsumer<String, String> into) throws IOException {
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean first = true;
+        for (int c = in.read(); ; c = in.read()) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                } else if (c == '"') {
+                    in.mark(1);
+                    int next = in.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            in.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (field.length() > 0 || !row.isEmpty()) {
+                    row.add(field.toString());
+                    field.setLength(0);
+                    if (row.size() >= 2 && !(first && row.get(0).equals("key"))) {
+                        into.accept(row.get(0), row.get(1));
+                    }
+                    first = false;
+                    row.clear();
+                }
+                if (c == -1) {
+                    return;
+                }
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * The translation tables are read outside of any generator, so they are part of the fingerprint of this provider for incremental datagen.
+     * <p>
+     * Locales can also be declared by generators, so they run here already to find every table that {@link #run(CachedOutput)} reads. They do not run again when generating.
+     */
+    @Override
+    public void fingerprint(Hasher hasher) {
+        for (String locale : getLocales()) {
+            hasher.putString(locale, StandardCharsets.UTF_8);
+            for (String extension : new String[] { ".json", ".csv" }) {
+                try {
+                    byte[] source = readSource(locale, extension);
+                    hasher.putInt(source == null ? -1 : source.length);
+                    if (source != null) {
+                        hasher.putBytes(source);
+                    }
+                } catch (IOException e) {
+                    // Unreadable now, so it will fail to generate anyways
+                    hasher.putLong(System.nanoTime());
+                }
+            }
+        }
+    }
+}
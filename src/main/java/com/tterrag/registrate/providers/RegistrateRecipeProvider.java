@@ -1,7 +1,9 @@
 package com.tterrag.registrate.providers;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Supplier;
 
 import javax.annotation.CheckReturnValue;
@@ -11,8 +13,10 @@ import javax.annotation.Nullable;
 import com.google.common.collect.ImmutableMap;
 import com.tterrag.registrate.AbstractRegistrate;
 import com.tterrag.registrate.util.DataIngredient;
+import com.tterrag.registrate.util.nullness.NonNullConsumer;
 import com.tterrag.registrate.util.nullness.NonNullSupplier;
 
+import net.minecraft.Util;
 import net.minecraft.advancements.Advancement;
 import net.minecraft.advancements.AdvancementHolder;
 import net.minecraft.advancements.Criterion;
@@ -65,19 +69,25 @@ public class RegistrateRecipeProvider extends RecipeProvider implements Registra
         return LogicalSide.SERVER;
     }
 
-    @Nullable
-    private RecipeOutput callback;
+    /** The output of the current thread, only set while recipe generators run on it */
+    private final ThreadLocal<RecipeOutput> callback = new ThreadLocal<>();
 
     @Override
     public void accept(ResourceLocation id, Recipe<?> recipe, @org.jetbrains.annotations.Nullable AdvancementHolder advancement, ICondition... conditions) {
+        RecipeOutput callback = this.callback.get();
         if (callback == null) {
             throw new IllegalStateException("Cannot accept recipes outside of a call to registerRecipes");
         }
+        owner.claimDataOutput(PackOutput.Target.DATA_PACK, "recipes", id);
+        if (advancement != null) {
+            owner.claimDataOutput(PackOutput.Target.DATA_PACK, "advancements", advancement.id());
+        }
         callback.accept(id, recipe, advancement);
     }
 
     @Override
     public Advancement.Builder advancement() {
+        RecipeOutput callback = this.callback.get();
         if (callback == null) {
             throw new IllegalStateException("Cannot get advancement outside of a call to registerRecipes");
         }
@@ -86,9 +96,92 @@ public class RegistrateRecipeProvider extends RecipeProvider implements Registra
 
     @Override
     protected void buildRecipes(RecipeOutput recipeOutput) {
-        this.callback = recipeOutput;
-        owner.genData(ProviderType.RECIPE, this);
-        this.callback = null;
+        int shards = owner.getRecipeShards();
+        if (shards > 1) {
+            buildRecipesSharded(recipeOutput, shards);
+            return;
+        }
+        this.callback.set(recipeOutput);
+        try {
+            owner.genData(ProviderType.RECIPE, this);
+        } finally {
+            this.callback.remove();
+        }
+    }
+
+    /**
+     * Run the recipe generators in contiguous shards on the background executor, each into its own buffer. The buffers are then passed on to the actual output in shard order, which is the same order
+     * as running all generators on one thread, and duplicate IDs are detected there as usual.
+     *
+     * @see AbstractRegistrate#recipeShards(int)
+     */
+    private void buildRecipesSharded(RecipeOutput recipeOutput, int shards) {
+        List<NonNullConsumer<? extends RegistrateProvider>> generators = owner.getDataGenerators(ProviderType.RECIPE);
+        shards = Math.min(shards, generators.size());
+        List<ShardOutput> outputs = new ArrayList<>(shards);
+        List<CompletableFuture<?>> futures = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            List<NonNullConsumer<? extends RegistrateProvider>> shard = generators.subList(generators.size() * i / shards, generators.size() * (i + 1) / shards);
+            ShardOutput output = new ShardOutput(recipeOutput);
+            outputs.add(output);
+            if (i == shards - 1) {
+                // The last shard runs on this thread, which would only be waiting otherwise
+                runShard(shard, output);
+            } else {
+                futures.add(CompletableFuture.runAsync(() -> runShard(shard, output), Util.backgroundExecutor()));
+            }
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+        for (ShardOutput output : outputs) {
+            output.replay(recipeOutput);
+        }
+    }
+
+    private void runShard(List<NonNullConsumer<? extends RegistrateProvider>> generators, RecipeOutput output) {
+        this.callback.set(output);
+        try {
+            for (NonNullConsumer<? extends RegistrateProvider> generator : generators) {
+                owner.runDataGenerator(ProviderType.RECIPE, generator, this);
+            }
+        } finally {
+            this.callback.remove();
+        }
+    }
+
+    private record BufferedRecipe(ResourceLocation id, Recipe<?> recipe, @Nullable AdvancementHolder advancement, ICondition[] conditions) {}
+
+    /**
+     * Thread-confined output for one shard, which buffers recipes in order.
+     */
+    private static class ShardOutput implements RecipeOutput {
+
+        private final RecipeOutput parent;
+        private final List<BufferedRecipe> recipes = new ArrayList<>();
+
+        ShardOutput(RecipeOutput parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void accept(ResourceLocation id, Recipe<?> recipe, @org.jetbrains.annotations.Nullable AdvancementHolder advancement, ICondition... conditions) {
+            recipes.add(new BufferedRecipe(id, recipe, advancement, conditions));
+        }
+
+        @Override
+        public Advancement.Builder advancement() {
+            // Creates a new builder each time, no shared state
+            return parent.advancement();
+        }
+
+        void replay(RecipeOutput output) {
+            for (BufferedRecipe r : recipes) {
+                output.accept(r.id(), r.recipe(), r.advancement(), r.conditions());
+            }
+        }
     }
 
     public ResourceLocation safeId(ResourceLocation id) {
@@ -1,6 +1,7 @@
 package com.tterrag.registrate.providers.loot;
 
 import com.tterrag.registrate.AbstractRegistrate;
+import com.tterrag.registrate.providers.ProviderType;
 import lombok.RequiredArgsConstructor;
 
 import net.minecraft.core.registries.Registries;
@@ -32,9 +33,16 @@ public class RegistrateBlockLootTables extends VanillaBlockLoot implements Regis
         callback.accept(this);
     }
 
+    /**
+     * All blocks of the registrate, except those whose loot generators are {@link AbstractRegistrate#isDataGeneratorSkipped(com.tterrag.registrate.providers.ProviderType, net.minecraft.resources.ResourceKey, String)
+     * skipped} by incremental datagen, as their tables are not created.
+     */
     @Override
     protected Iterable<Block> getKnownBlocks() {
-        return parent.getAll(Registries.BLOCK).stream().map(Supplier::get).collect(Collectors.toList());
+        return parent.getAll(Registries.BLOCK).stream()
+                .filter(e -> !parent.isDataGeneratorSkipped(ProviderType.LOOT, Registries.BLOCK, e.getId().getPath()))
+                .map(Supplier::get)
+                .collect(Collectors.toList());
     }
 
     // @formatter:off
@@ -7,6 +7,7 @@ import java.util.stream.Stream;
 import javax.annotation.Generated;
 
 import com.tterrag.registrate.AbstractRegistrate;
+import com.tterrag.registrate.providers.ProviderType;
 
 import lombok.RequiredArgsConstructor;
 import net.minecraft.core.registries.Registries;
@@ -30,9 +31,16 @@ public class RegistrateEntityLootTables extends VanillaEntityLoot implements Reg
         callback.accept(this);
     }
 
+    /**
+     * All entity types of the registrate, except those whose loot generators are
+     * {@link AbstractRegistrate#isDataGeneratorSkipped(com.tterrag.registrate.providers.ProviderType, net.minecraft.resources.ResourceKey, String) skipped} by incremental datagen, as their tables are
+     * not created.
+     */
     @Override
     protected Stream<EntityType<?>> getKnownEntityTypes() {
-        return parent.getAll(Registries.ENTITY_TYPE).stream().map(Supplier::get);
+        return parent.getAll(Registries.ENTITY_TYPE).stream()
+                .filter(e -> !parent.isDataGeneratorSkipped(ProviderType.LOOT, Registries.ENTITY_TYPE, e.getId().getPath()))
+                .map(Supplier::get);
     }
 
     // @formatter:off
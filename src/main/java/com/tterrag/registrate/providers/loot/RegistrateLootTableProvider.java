@@ -9,7 +9,9 @@ import com.tterrag.registrate.providers.ProviderType;
 import com.tterrag.registrate.providers.RegistrateProvider;
 import com.tterrag.registrate.util.nullness.NonNullBiFunction;
 import com.tterrag.registrate.util.nullness.NonNullConsumer;
+import org.apache.commons.lang3.tuple.Pair;
 
+import net.minecraft.Util;
 import net.minecraft.data.PackOutput;
 import net.minecraft.data.loot.LootTableProvider;
 import net.minecraft.data.loot.LootTableSubProvider;
@@ -23,9 +25,10 @@ import net.neoforged.fml.LogicalSide;
 import net.neoforged.fml.util.ObfuscationReflectionHelper;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.function.Supplier;
 
 public class RegistrateLootTableProvider extends LootTableProvider implements RegistrateProvider {
 
@@ -55,13 +58,14 @@ public class RegistrateLootTableProvider extends LootTableProvider implements Re
         }
     }
 
-    private static final Map<String, LootType<?>> LOOT_TYPES = new HashMap<>();
+    private static final Map<String, LootType<?>> LOOT_TYPES = new LinkedHashMap<>();
 
     private final AbstractRegistrate<?> parent;
 
     private final Multimap<LootType<?>, Consumer<? super RegistrateLootTables>> specialLootActions = HashMultimap.create();
     private final Multimap<LootContextParamSet, Consumer<BiConsumer<ResourceLocation, LootTable.Builder>>> lootActions = HashMultimap.create();
-    private final Set<RegistrateLootTables> currentLootCreators = new HashSet<>();
+    /** Loot creators of the current run, in order. Only modified by {@link #getTables()} */
+    private final List<RegistrateLootTables> currentLootCreators = new ArrayList<>();
 
     public RegistrateLootTableProvider(AbstractRegistrate<?> parent, PackOutput packOutput) {
         super(packOutput, Set.of(), VanillaLootTableProvider.create(packOutput).getTables());
@@ -78,36 +82,82 @@ public class RegistrateLootTableProvider extends LootTableProvider implements Re
         currentLootCreators.forEach(c -> c.validate(map, validationresults));
     }
 
+    /**
+     * Add an action which creates loot tables of the given loot type. Actions run after all loot generators, and are attributed to the generator that added them.
+     */
     @SuppressWarnings("unchecked")
     public <T extends RegistrateLootTables> void addLootAction(LootType<T> type, NonNullConsumer<T> action) {
-        this.specialLootActions.put(type, (Consumer<RegistrateLootTables>) action);
+        this.specialLootActions.put(type, (Consumer<RegistrateLootTables>) parent.bindToDataGenerator((Consumer<T>) action));
     }
 
+    /**
+     * Add an action which creates loot tables for the given parameter set. Actions run after all loot generators, and are attributed to the generator that added them.
+     */
     public void addLootAction(LootContextParamSet set, Consumer<BiConsumer<ResourceLocation, LootTable.Builder>> action) {
-        this.lootActions.put(set, action);
+        this.lootActions.put(set, parent.bindToDataGenerator(action));
     }
 
-    private Supplier<LootTableSubProvider> getLootCreator(AbstractRegistrate<?> parent, LootType<?> type) {
-        return () -> {
-            RegistrateLootTables creator = type.getLootCreator(parent, cons -> specialLootActions.get(type).forEach(c -> c.accept(cons)));
-            currentLootCreators.add(creator);
-            return creator;
-        };
+    private RegistrateLootTables getLootCreator(AbstractRegistrate<?> parent, LootType<?> type) {
+        return type.getLootCreator(parent, cons -> specialLootActions.get(type).forEach(c -> c.accept(cons)));
     }
 
     private static final BiMap<ResourceLocation, LootContextParamSet> SET_REGISTRY = ObfuscationReflectionHelper.getPrivateValue(LootContextParamSets.class, null, "REGISTRY");
 
+    /**
+     * Build the tables of all sub-providers. Param sets without any loot actions are skipped.
+     * <p>
+     * With {@link AbstractRegistrate#parallelLoot(boolean)}, the sub-providers are built in parallel, one task per sub-provider. Each builds into its own buffer, and the returned entries replay
+     * those buffers in order, so the tables reach {@link LootTableProvider} the same way as if they were built one at a time.
+     */
     @Override
     public List<LootTableProvider.SubProviderEntry> getTables() {
         parent.genData(ProviderType.LOOT, this);
         currentLootCreators.clear();
-        ImmutableList.Builder<LootTableProvider.SubProviderEntry> builder = ImmutableList.builder();
+        List<BufferedSubProvider> subProviders = new ArrayList<>();
         for (LootType<?> type : LOOT_TYPES.values()) {
-            builder.add(new SubProviderEntry(getLootCreator(parent, type), type.getLootSet()));
+            RegistrateLootTables creator = getLootCreator(parent, type);
+            currentLootCreators.add(creator);
+            subProviders.add(new BufferedSubProvider(creator, type.getLootSet()));
         }
         for (LootContextParamSet set : SET_REGISTRY.values()) {
-            builder.add(new SubProviderEntry(() -> callback -> lootActions.get(set).forEach(a -> a.accept(callback)), set));
+            Collection<Consumer<BiConsumer<ResourceLocation, LootTable.Builder>>> actions = lootActions.get(set);
+            if (!actions.isEmpty()) {
+                subProviders.add(new BufferedSubProvider(callback -> actions.forEach(a -> a.accept(callback)), set));
+            }
+        }
+        if (parent.isParallelLoot()) {
+            join(subProviders.stream().map(p -> CompletableFuture.runAsync(p::generate, Util.backgroundExecutor())).toList());
+        } else {
+            subProviders.forEach(BufferedSubProvider::generate);
+        }
+        return subProviders.stream().map(BufferedSubProvider::toEntry).collect(ImmutableList.toImmutableList());
+    }
+
+    private static void join(List<? extends CompletableFuture<?>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    private static class BufferedSubProvider {
+
+        private final LootTableSubProvider provider;
+        private final LootContextParamSet set;
+        private final List<Pair<ResourceLocation, LootTable.Builder>> tables = new ArrayList<>();
+
+        BufferedSubProvider(LootTableSubProvider provider, LootContextParamSet set) {
+            this.provider = provider;
+            this.set = set;
+        }
+
+        void generate() {
+            provider.generate((id, table) -> tables.add(Pair.of(id, table)));
+        }
+
+        LootTableProvider.SubProviderEntry toEntry() {
+            return new SubProviderEntry(() -> output -> tables.forEach(t -> output.accept(t.getKey(), t.getValue())), set);
         }
-        return builder.build();
     }
 }
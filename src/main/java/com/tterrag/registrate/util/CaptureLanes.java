@@ -0,0 +1,151 @@
+package com.tterrag.registrate.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceKey;
+
+/**
+ * Thread-safe front for a {@link RegistrationStore}, used when values are captured from several threads at once.
+ * <p>
+ * Each capturing thread appends to its own lock-free lane, and lookups by name go through a concurrent index, so capturing never blocks. The store is rebuilt from all lanes before any ordered read
+ * that follows new captures.
+ * <p>
+ * To keep the order independent of thread scheduling, a lane is split into segments whenever the context of its thread changes (such as the mod being constructed on a reused worker thread). All
+ * values are ordered globally by their segment, which is keyed by its context and the registry and name of its first value, and then by their position in the segment. Since every ordered read
+ * rebuilds the whole order, reading early does not fix the position of values captured so far. The result is deterministic as long as each context captures a deterministic sequence of values on a
+ * single thread, as is the case when each mod is constructed on a single thread.
+ *
+ * @param <V>
+ *            The type of value stored
+ */
+@ApiStatus.Internal
+public final class CaptureLanes<V> {
+
+    private record Pending<V>(ResourceKey<? extends Registry<?>> type, String name, V value) {}
+
+    /** A run of values captured by one thread in one context, in capture order */
+    private static final class Segment<V> {
+        final String context;
+        final Pending<V> first;
+        final Queue<Pending<V>> values = new ConcurrentLinkedQueue<>();
+
+        Segment(String context, Pending<V> first) {
+            this.context = context;
+            this.first = first;
+            values.add(first);
+        }
+    }
+
+    private static final Comparator<Segment<?>> SEGMENT_ORDER = Comparator.<Segment<?>, String> comparing(s -> s.context)
+            .thenComparing(s -> s.first.type().location().toString())
+            .thenComparing(s -> s.first.name());
+
+    private final Supplier<String> context;
+
+    /** Only accessed while holding the monitor of this object */
+    private RegistrationStore<V> store = new RegistrationStore<>();
+    /** Only accessed while holding the monitor of this object */
+    private final Map<ResourceKey<? extends Registry<?>>, Integer> reserved = new HashMap<>();
+    /** Only accessed while holding the monitor of this object */
+    private long built;
+
+    private final Map<ResourceKey<? extends Registry<?>>, Map<String, V>> index = new ConcurrentHashMap<>();
+    private final Queue<Segment<V>> segments = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Segment<V>> segment = new ThreadLocal<>();
+    private final AtomicLong captured = new AtomicLong();
+
+    /**
+     * @param context
+     *            Supplies the context of the current thread, such as the mod being constructed on it
+     */
+    public CaptureLanes(Supplier<String> context) {
+        this.context = context;
+    }
+
+    /**
+     * Add a value from the current thread. A value for an existing registry and name replaces it, as in {@link RegistrationStore#put(ResourceKey, String, Object)}.
+     */
+    public void put(ResourceKey<? extends Registry<?>> type, String name, V value) {
+        index.computeIfAbsent(type, $ -> new ConcurrentHashMap<>()).put(name, value);
+        Pending<V> pending = new Pending<>(type, name, value);
+        String context = this.context.get();
+        Segment<V> segment = this.segment.get();
+        if (segment == null || !segment.context.equals(context)) {
+            segment = new Segment<>(context, pending);
+            this.segment.set(segment);
+            segments.add(segment);
+        } else {
+            segment.values.add(pending);
+        }
+        // Counted after the value is visible, so a rebuild that misses it is always followed by another
+        captured.incrementAndGet();
+    }
+
+    /**
+     * @return The value captured for the given registry and name by any thread, or {@code null} if there is none
+     */
+    @Nullable
+    public V get(ResourceKey<? extends Registry<?>> type, String name) {
+        Map<String, V> names = index.get(type);
+        return names == null ? null : names.get(name);
+    }
+
+    /**
+     * @return An insertion-ordered snapshot of all values captured for the given registry
+     */
+    public synchronized List<V> getAll(ResourceKey<? extends Registry<?>> type) {
+        rebuild();
+        return List.copyOf(store.getAll(type));
+    }
+
+    /**
+     * @see RegistrationStore#reserve(ResourceKey, int)
+     */
+    public synchronized void reserve(ResourceKey<? extends Registry<?>> type, int additional) {
+        reserved.merge(type, additional, Integer::sum);
+        store.reserve(type, additional);
+    }
+
+    /**
+     * Merge all lanes and hand over the underlying store, after which this front must no longer be used.
+     *
+     * @return The store holding all captured values
+     */
+    public synchronized RegistrationStore<V> toStore() {
+        rebuild();
+        index.clear();
+        return store;
+    }
+
+    private void rebuild() {
+        long captured = this.captured.get();
+        if (captured == built) {
+            return;
+        }
+        List<Segment<V>> sorted = new ArrayList<>(segments);
+        sorted.sort(SEGMENT_ORDER);
+        RegistrationStore<V> store = new RegistrationStore<>();
+        reserved.forEach(store::reserve);
+        for (Segment<V> segment : sorted) {
+            for (Pending<V> p : segment.values) {
+                store.put(p.type(), p.name(), p.value());
+            }
+        }
+        this.store = store;
+        this.built = captured;
+    }
+}
@@ -0,0 +1,145 @@
+package com.tterrag.registrate.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import com.tterrag.registrate.AbstractRegistrate;
+import com.tterrag.registrate.util.nullness.NonNullSupplier;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import net.minecraft.client.color.block.BlockColor;
+import net.minecraft.client.color.item.ItemColor;
+import net.minecraft.world.level.ItemLike;
+import net.minecraft.world.level.block.Block;
+import net.neoforged.bus.api.Event;
+import net.neoforged.fml.event.IModBusEvent;
+import net.neoforged.neoforge.client.event.RegisterColorHandlersEvent;
+
+/**
+ * Client-side registrations queued by builders, such as render layers, color handlers and renderers, which are drained by a single one-time listener per event type rather than a listener per
+ * entry.
+ * <p>
+ * Color handlers are grouped by handler, so that all entries sharing one are registered with a single call. Tasks queued after their event has fired wait for the next one, like a new listener
+ * would.
+ * <p>
+ * Only use this on the physical client. Thread-safe.
+ */
+@ApiStatus.Internal
+@RequiredArgsConstructor
+@Log4j2
+public final class ClientRegistrationSink {
+
+    private record ColorEntry<C, O>(Supplier<? extends @Nullable NonNullSupplier<Supplier<C>>> handler, NonNullSupplier<? extends O> entry) {}
+
+    private final AbstractRegistrate<?> owner;
+
+    /** Queued tasks by event type, removed when drained */
+    private final Map<Class<?>, List<Consumer<?>>> tasks = new HashMap<>();
+    @Nullable
+    private List<ColorEntry<BlockColor, Block>> blockColors;
+    @Nullable
+    private List<ColorEntry<ItemColor, ItemLike>> itemColors;
+
+    /**
+     * Queue a task for the next time the given event fires on the owner's mod bus.
+     *
+     * @param event
+     *            The event type
+     * @param task
+     *            The task to run
+     */
+    public synchronized <E extends Event & IModBusEvent> void add(Class<E> event, Consumer<? super E> task) {
+        List<Consumer<?>> queued = tasks.get(event);
+        if (queued == null) {
+            tasks.put(event, queued = new ArrayList<>());
+            OneTimeEventReceiver.<E> addModListener(owner, event, e -> drain(event, e));
+        }
+        queued.add(task);
+    }
+
+    /**
+     * Queue a block color handler registration.
+     *
+     * @param block
+     *            The block to register the handler for
+     * @param handler
+     *            The handler, read when the event fires so that it can still be changed, or {@code null} to skip the block
+     */
+    public synchronized void blockColor(NonNullSupplier<? extends Block> block, Supplier<? extends @Nullable NonNullSupplier<Supplier<BlockColor>>> handler) {
+        if (blockColors == null) {
+            blockColors = new ArrayList<>();
+            add(RegisterColorHandlersEvent.Block.class, e -> {
+                List<ColorEntry<BlockColor, Block>> entries;
+                synchronized (this) {
+                    entries = blockColors;
+                    blockColors = null;
+                }
+                registerColors("block", entries, Block[]::new, e::register);
+            });
+        }
+        blockColors.add(new ColorEntry<>(handler, block));
+    }
+
+    /**
+     * Queue an item color handler registration.
+     *
+     * @param item
+     *            The item to register the handler for
+     * @param handler
+     *            The handler, read when the event fires so that it can still be changed, or {@code null} to skip the item
+     */
+    public synchronized void itemColor(NonNullSupplier<? extends ItemLike> item, Supplier<? extends @Nullable NonNullSupplier<Supplier<ItemColor>>> handler) {
+        if (itemColors == null) {
+            itemColors = new ArrayList<>();
+            add(RegisterColorHandlersEvent.Item.class, e -> {
+                List<ColorEntry<ItemColor, ItemLike>> entries;
+                synchronized (this) {
+                    entries = itemColors;
+                    itemColors = null;
+                }
+                registerColors("item", entries, ItemLike[]::new, e::register);
+            });
+        }
+        itemColors.add(new ColorEntry<>(handler, item));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends Event> void drain(Class<E> type, E event) {
+        List<Consumer<?>> queued;
+        synchronized (this) {
+            queued = tasks.remove(type);
+        }
+        if (queued == null) {
+            return;
+        }
+        for (Consumer<?> task : queued) {
+            ((Consumer<? super E>) task).accept(event);
+        }
+        log.debug(DebugMarkers.REGISTER, "({}) Ran {} queued tasks for {} from 1 listener, rather than 1 listener each", owner.getModid(), queued.size(), type.getSimpleName());
+    }
+
+    private <C, O> void registerColors(String kind, List<ColorEntry<C, O>> entries, IntFunction<O[]> array, BiConsumer<C, O[]> register) {
+        // Handlers are usually shared lambdas or singletons, so equal handlers are registered together
+        Map<C, List<O>> byHandler = new LinkedHashMap<>();
+        for (ColorEntry<C, O> entry : entries) {
+            NonNullSupplier<Supplier<C>> handler = entry.handler().get();
+            if (handler != null) {
+                byHandler.computeIfAbsent(handler.get().get(), $ -> new ArrayList<>()).add(entry.entry().get());
+            }
+        }
+        byHandler.forEach((handler, objects) -> register.accept(handler, objects.toArray(array)));
+        log.debug(DebugMarkers.REGISTER, "({}) Registered {} {} color handlers with {} calls", owner.getModid(), entries.size(), kind, byHandler.size());
+    }
+}
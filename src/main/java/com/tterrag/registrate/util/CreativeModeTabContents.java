@@ -0,0 +1,82 @@
+package com.tterrag.registrate.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.flag.FeatureFlagSet;
+import net.minecraft.world.item.CreativeModeTab;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.neoforge.event.BuildCreativeModeTabContentsEvent;
+
+/**
+ * Caches the items added to each creative tab by {@link CreativeModeTabModifier} callbacks, see {@link com.tterrag.registrate.AbstractRegistrate#cacheCreativeModeTabContents(boolean)}.
+ * <p>
+ * Tab contents are rebuilt whenever the feature flags or the operator permission of the player change, which runs every modifier of every tab again. When modifiers only depend on those two inputs
+ * (as exposed by {@link CreativeModeTabModifier}), their output can be recorded per tab and replayed for as long as both are unchanged.
+ * <p>
+ * Not thread-safe, tab contents are only built on the client thread.
+ */
+@ApiStatus.Internal
+public final class CreativeModeTabContents {
+
+    private static final class Recorded {
+        final FeatureFlagSet flags;
+        final boolean hasPermissions;
+        final List<ItemStack> stacks = new ArrayList<>();
+        final List<CreativeModeTab.TabVisibility> visibilities = new ArrayList<>();
+
+        Recorded(FeatureFlagSet flags, boolean hasPermissions) {
+            this.flags = flags;
+            this.hasPermissions = hasPermissions;
+        }
+    }
+
+    private final Map<ResourceKey<CreativeModeTab>, Recorded> recorded = new HashMap<>();
+
+    /**
+     * Fill the tab of the given event, replaying the recorded contents if they are still valid or running the given modifiers otherwise.
+     */
+    public void build(BuildCreativeModeTabContentsEvent event, Collection<? extends Consumer<CreativeModeTabModifier>> modifiers) {
+        ResourceKey<CreativeModeTab> tab = event.getTabKey();
+        Recorded existing = recorded.get(tab);
+        if (existing != null && existing.hasPermissions == event.hasPermissions() && existing.flags.equals(event.getFlags())) {
+            for (int i = 0; i < existing.stacks.size(); i++) {
+                event.accept(existing.stacks.get(i).copy(), existing.visibilities.get(i));
+            }
+            return;
+        }
+        Recorded contents = new Recorded(event.getFlags(), event.hasPermissions());
+        // A new modifier per build, as modifiers may hold on to it
+        CreativeModeTabModifier modifier = new CreativeModeTabModifier(event::getFlags, event::hasPermissions, (stack, visibility) -> {
+            contents.stacks.add(stack.copy());
+            contents.visibilities.add(visibility);
+            event.accept(stack, visibility);
+        });
+        for (Consumer<CreativeModeTabModifier> m : modifiers) {
+            m.accept(modifier);
+        }
+        // Only cache complete contents, a failed modifier runs again next time
+        recorded.put(tab, contents);
+    }
+
+    /**
+     * Forget the recorded contents of the given tab, so that its modifiers run again on the next rebuild.
+     */
+    public void invalidate(ResourceKey<CreativeModeTab> tab) {
+        recorded.remove(tab);
+    }
+
+    /**
+     * Forget the recorded contents of all tabs.
+     */
+    public void invalidateAll() {
+        recorded.clear();
+    }
+}
@@ -0,0 +1,196 @@
+package com.tterrag.registrate.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nullable;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Ordered index of data generators by provider type, with optional ownership by an entry.
+ * <p>
+ * Each type keeps its generators in insertion order in a tombstoned array, so replacing or removing the generator of an entry is O(1) rather than a linear list removal. Owned generators are also
+ * indexed by owner and by identity, so that finding the entry a generator belongs to (for logging and error reporting) is O(1) as well.
+ * <p>
+ * Replacing the generator of an entry moves it to the end of the order, as a remove followed by an add would.
+ * <p>
+ * Not thread-safe.
+ *
+ * @param <K>
+ *            The type of owner (entry) keys
+ * @param <T>
+ *            The type of provider type keys
+ * @param <G>
+ *            The type of generators
+ */
+@ApiStatus.Internal
+public final class DataGeneratorIndex<K, T, G> {
+
+    private static final class Node<K, G> {
+        final G generator;
+        @Nullable
+        final K owner;
+        int index;
+
+        Node(G generator, @Nullable K owner) {
+            this.generator = generator;
+            this.owner = owner;
+        }
+    }
+
+    private static final class Lane<K, G> {
+
+        @SuppressWarnings("unchecked")
+        Node<K, G>[] nodes = new Node[8];
+        int size;
+        int live;
+
+        final Map<K, Node<K, G>> byOwner = new HashMap<>();
+        final Map<G, Node<K, G>> byGenerator = new IdentityHashMap<>();
+
+        void append(Node<K, G> node) {
+            if (size == nodes.length) {
+                if (live < size / 2) {
+                    compact();
+                } else {
+                    nodes = Arrays.copyOf(nodes, size * 2);
+                }
+            }
+            node.index = size;
+            nodes[size++] = node;
+            live++;
+        }
+
+        void remove(Node<K, G> node) {
+            nodes[node.index] = null;
+            live--;
+            if (node.owner != null) {
+                byGenerator.remove(node.generator, node);
+            }
+        }
+
+        private void compact() {
+            int j = 0;
+            for (int i = 0; i < size; i++) {
+                Node<K, G> node = nodes[i];
+                if (node != null) {
+                    node.index = j;
+                    nodes[j++] = node;
+                }
+            }
+            Arrays.fill(nodes, j, size, null);
+            size = j;
+        }
+    }
+
+    private final Map<T, Lane<K, G>> lanes = new HashMap<>();
+
+    private Lane<K, G> lane(T type) {
+        return lanes.computeIfAbsent(type, $ -> new Lane<>());
+    }
+
+    /**
+     * Set the generator of the given owner for the given type, replacing any existing one.
+     *
+     * @return The replaced generator, or {@code null} if there was none
+     */
+    public @Nullable G put(K owner, T type, G generator) {
+        Lane<K, G> lane = lane(type);
+        Node<K, G> node = new Node<>(generator, owner);
+        Node<K, G> existing = lane.byOwner.put(owner, node);
+        if (existing != null) {
+            lane.remove(existing);
+        }
+        lane.append(node);
+        lane.byGenerator.put(generator, node);
+        return existing == null ? null : existing.generator;
+    }
+
+    /**
+     * Add a generator for the given type that is not owned by any entry.
+     */
+    public void add(T type, G generator) {
+        lane(type).append(new Node<>(generator, null));
+    }
+
+    /**
+     * Remove the generator of the given owner for the given type.
+     *
+     * @return The removed generator, or {@code null} if there was none
+     */
+    public @Nullable G remove(K owner, T type) {
+        Lane<K, G> lane = lanes.get(type);
+        Node<K, G> node = lane == null ? null : lane.byOwner.remove(owner);
+        if (node == null) {
+            return null;
+        }
+        lane.remove(node);
+        return node.generator;
+    }
+
+    /**
+     * @return The generator of the given owner for the given type, or {@code null} if there is none
+     */
+    public @Nullable G get(K owner, T type) {
+        Lane<K, G> lane = lanes.get(type);
+        Node<K, G> node = lane == null ? null : lane.byOwner.get(owner);
+        return node == null ? null : node.generator;
+    }
+
+    /**
+     * @return The owner of the given generator for the given type, or {@code null} if it is not owned (or not present)
+     */
+    public @Nullable K getOwner(T type, G generator) {
+        Lane<K, G> lane = lanes.get(type);
+        Node<K, G> node = lane == null ? null : lane.byGenerator.get(generator);
+        return node == null ? null : node.owner;
+    }
+
+    /**
+     * @return The number of generators for the given type
+     */
+    public int size(T type) {
+        Lane<K, G> lane = lanes.get(type);
+        return lane == null ? 0 : lane.live;
+    }
+
+    /**
+     * @return A snapshot of all generators for the given type, in order
+     */
+    public List<G> getAll(T type) {
+        Lane<K, G> lane = lanes.get(type);
+        if (lane == null) {
+            return List.of();
+        }
+        List<G> ret = new ArrayList<>(lane.live);
+        forEach(lane, (owner, generator) -> ret.add(generator));
+        return ret;
+    }
+
+    /**
+     * Visit all generators for the given type in order, along with their owner ({@code null} for generators without one).
+     */
+    public void forEach(T type, BiConsumer<? super K, ? super G> action) {
+        Lane<K, G> lane = lanes.get(type);
+        if (lane != null) {
+            forEach(lane, action);
+        }
+    }
+
+    private void forEach(Lane<K, G> lane, BiConsumer<? super K, ? super G> action) {
+        Node<K, G>[] nodes = lane.nodes;
+        int size = lane.size;
+        for (int i = 0; i < size; i++) {
+            Node<K, G> node = nodes[i];
+            if (node != null) {
+                action.accept(node.owner, node.generator);
+            }
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package com.tterrag.registrate.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Table;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.tterrag.registrate.AbstractRegistrate;
+import com.tterrag.registrate.util.entry.RegistryEntry;
+
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.material.Fluid;
+import net.neoforged.neoforge.registries.DeferredHolder;
+
+/**
+ * Computes stable fingerprints of data generator callbacks for incremental datagen.
+ * <p>
+ * A callback is fingerprinted by walking everything reachable from it: lambdas contribute the bytecode of the class that declares them and of the classes it calls into (see
+ * {@link #classClosure(Class)}) plus their captured values, plain objects contribute their class name and instance fields, and well-known value types (strings, enums, resource locations, registry
+ * entries, collections, ...) contribute their contents. {@link Fingerprinted} objects describe themselves.
+ * <p>
+ * Lambdas can only be told apart by the class declaring them, so changing a class changes the fingerprint of every callback declared in it, or in a class calling into it.
+ * <p>
+ * The walk is conservative. Anything that cannot be hashed deterministically (inaccessible fields, JDK internals, missing class bytes, graphs that are too large) makes the whole fingerprint
+ * unavailable, which callers treat as "always changed".
+ */
+@ApiStatus.Internal
+public final class DatagenFingerprinter {
+
+    private static final HashFunction HASH = Hashing.murmur3_128();
+
+    private static final int MAX_DEPTH = 32;
+    private static final int MAX_NODES = 20_000;
+
+    private record ClassFile(HashCode hash, List<String> references) {}
+
+    /** Cached class files by location, absent when the class file could not be read */
+    private static final Map<String, Optional<ClassFile>> CLASS_FILES = new ConcurrentHashMap<>();
+    /** Cached hashes of class closures, absent when a class file could not be read */
+    private static final Map<Class<?>, Optional<HashCode>> CLASS_CLOSURES = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<>();
+
+    /** Thrown (without a stack trace) to abort the walk when something cannot be fingerprinted */
+    private static final class Unhashable extends RuntimeException {
+
+        Unhashable(String reason) {
+            super(reason, null, false, false);
+        }
+    }
+
+    private final Hasher hasher = HASH.newHasher();
+    /** Shared with walkers for elements of unordered collections, so that cycles through them still terminate */
+    private final Map<Object, Integer> visited;
+
+    private DatagenFingerprinter(Map<Object, Integer> visited) {
+        this.visited = visited;
+    }
+
+    /**
+     * @return A fingerprint of the given objects and everything reachable from them, or {@code null} if they cannot be fingerprinted deterministically
+     */
+    public static @Nullable HashCode fingerprint(Object... roots) {
+        DatagenFingerprinter walker = new DatagenFingerprinter(new IdentityHashMap<>());
+        try {
+            for (Object root : roots) {
+                walker.walk(root, 0);
+            }
+        } catch (RuntimeException e) {
+            // Unhashable, as well as InaccessibleObjectException, SecurityException and friends, all mean the same thing here
+            return null;
+        }
+        return walker.hasher.hash();
+    }
+
+    /**
+     * Hash the class file of the given class, along with the class files of all classes it references directly or indirectly that are loaded from the same location (such as the same mod file). This
+     * covers code that generators call into, such as helper classes and the classes of registered entries, without hashing unrelated classes or libraries.
+     *
+     * @return A hash of the names and class files of all classes reached, or {@code null} if any class file could not be read
+     */
+    public static @Nullable HashCode classClosure(Class<?> cls) {
+        return CLASS_CLOSURES.computeIfAbsent(cls, c -> {
+            ClassLoader loader = c.getClassLoader() == null ? ClassLoader.getSystemClassLoader() : c.getClassLoader();
+            String name = c.getName().replace('.', '/');
+            URL url = loader.getResource(name + ".class");
+            if (url == null) {
+                return Optional.empty();
+            }
+            String root = root(url, name);
+            // Sorted by name, traversal order depends on constant pool layout
+            Map<String, HashCode> closure = new TreeMap<>();
+            Set<String> seen = new HashSet<>();
+            Deque<String> queue = new ArrayDeque<>();
+            seen.add(name);
+            queue.add(name);
+            while (!queue.isEmpty()) {
+                String next = queue.poll();
+                URL file = next.equals(name) ? url : loader.getResource(next + ".class");
+                if (file == null || !root.equals(root(file, next))) {
+                    continue;
+                }
+                Optional<ClassFile> classFile = CLASS_FILES.computeIfAbsent(file.toString(), $ -> readClassFile(file));
+                if (classFile.isEmpty()) {
+                    return Optional.empty();
+                }
+                closure.put(next, classFile.get().hash());
+                for (String ref : classFile.get().references()) {
+                    if (seen.add(ref)) {
+                        queue.add(ref);
+                    }
+                }
+            }
+            Hasher hasher = HASH.newHasher();
+            closure.forEach((n, h) -> hasher.putString(n, StandardCharsets.UTF_8).putBytes(h.asBytes()));
+            return Optional.of(hasher.hash());
+        }).orElse(null);
+    }
+
+    /**
+     * @return The location a class file was loaded from, without the path of the class inside of it
+     */
+    private static String root(URL url, String name) {
+        String ret = url.toString();
+        String suffix = name + ".class";
+        return ret.endsWith(suffix) ? ret.substring(0, ret.length() - suffix.length()) : ret;
+    }
+
+    private static Optional<ClassFile> readClassFile(URL url) {
+        try (InputStream in = url.openStream()) {
+            byte[] bytes = in.readAllBytes();
+            return Optional.of(new ClassFile(HASH.hashBytes(bytes), references(bytes)));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return The internal names of all classes referenced from the constant pool of the given class file
+     */
+    private static List<String> references(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+        int count = in.readUnsignedShort();
+        String[] utf8 = new String[count];
+        int[] classes = new int[count];
+        int classCount = 0;
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1 -> utf8[i] = in.readUTF();
+                case 7 -> classes[classCount++] = in.readUnsignedShort();
+                case 8, 16, 19, 20 -> in.readUnsignedShort();
+                case 15 -> {
+                    in.readUnsignedByte();
+                    in.readUnsignedShort();
+                }
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> in.readInt();
+                case 5, 6 -> {
+                    // Longs and doubles take up two entries
+                    in.readLong();
+                    i++;
+                }
+                default -> throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        List<String> ret = new ArrayList<>(classCount);
+        for (int i = 0; i < classCount; i++) {
+            String name = utf8[classes[i]];
+            if (name == null) {
+                throw new IOException("Invalid class constant");
+            }
+            if (name.startsWith("[")) {
+                // Array types reference their element type, if it is a class
+                int start = name.lastIndexOf('[') + 1;
+                if (name.charAt(start) != 'L') {
+                    continue;
+                }
+                name = name.substring(start + 1, name.length() - 1);
+            }
+            ret.add(name);
+        }
+        return ret;
+    }
+
+    private void walk(@Nullable Object o, int depth) {
+        if (o == null) {
+            hasher.putByte((byte) 0);
+            return;
+        }
+        if (depth > MAX_DEPTH) {
+            throw new Unhashable("Too deep");
+        }
+        // Values first, these are compared by contents so do not participate in cycle detection
+        if (o instanceof CharSequence s) {
+            putTag("str").putString(s, StandardCharsets.UTF_8);
+        } else if (o instanceof Number || o instanceof Boolean || o instanceof Character) {
+            putTag(o.getClass().getName()).putString(o.toString(), StandardCharsets.UTF_8);
+        } else if (o instanceof Enum<?> e) {
+            putTag(e.getDeclaringClass().getName()).putString(e.name(), StandardCharsets.UTF_8);
+        } else if (o instanceof Class<?> c) {
+            putTag("class").putString(c.getName(), StandardCharsets.UTF_8);
+        } else if (o instanceof ResourceLocation || o instanceof ResourceKey<?> || o instanceof TagKey<?>) {
+            putTag(o.getClass().getName()).putString(o.toString(), StandardCharsets.UTF_8);
+        } else if (o instanceof RegistryEntry<?, ?> e) {
+            putTag("entry").putString(e.getKey().toString(), StandardCharsets.UTF_8);
+        } else if (o instanceof DeferredHolder<?, ?> h) {
+            putTag("entry").putString(h.getKey().toString(), StandardCharsets.UTF_8);
+        } else if (o instanceof AbstractRegistrate<?> r) {
+            // Registrates are reachable from every builder, their identity is all that matters
+            putTag("registrate").putString(r.getModid(), StandardCharsets.UTF_8);
+        } else {
+            ResourceKey<?> registered = registeredKey(o);
+            if (registered != null) {
+                putTag("registered").putString(registered.toString(), StandardCharsets.UTF_8);
+            } else {
+                walkReference(o, depth);
+            }
+        }
+    }
+
+    private void walkReference(Object o, int depth) {
+        Integer seen = visited.get(o);
+        if (seen != null) {
+            putTag("ref").putInt(seen);
+            return;
+        }
+        if (visited.size() >= MAX_NODES) {
+            throw new Unhashable("Too large");
+        }
+        visited.put(o, visited.size());
+
+        Class<?> cls = o.getClass();
+        if (o instanceof Fingerprinted f) {
+            putTag(cls.getName());
+            f.fingerprint(hasher);
+        } else if (cls.isArray()) {
+            int length = Array.getLength(o);
+            putTag(cls.getName()).putInt(length);
+            for (int i = 0; i < length; i++) {
+                walk(Array.get(o, i), depth + 1);
+            }
+        } else if (o instanceof Optional<?> opt) {
+            putTag("optional");
+            walk(opt.orElse(null), depth + 1);
+        } else if (o instanceof Holder<?> holder) {
+            putTag("holder");
+            walk(holder.unwrapKey().orElseThrow(() -> new Unhashable("Direct holder")), depth + 1);
+        } else if (o instanceof Multimap<?, ?> map) {
+            putTag("multimap");
+            walkMap(map.asMap(), depth);
+        } else if (o instanceof Table<?, ?, ?> table) {
+            putTag("table");
+            walkMap(table.rowMap(), depth);
+        } else if (o instanceof Map<?, ?> map) {
+            putTag("map");
+            walkMap(map, depth);
+        } else if (o instanceof Collection<?> coll) {
+            boolean ordered = !(o instanceof Set) || o instanceof SortedSet || o instanceof LinkedHashSet;
+            putTag(ordered ? "list" : "set").putInt(coll.size());
+            if (ordered) {
+                for (Object e : coll) {
+                    walk(e, depth + 1);
+                }
+            } else {
+                long sum = 0;
+                for (Object e : coll) {
+                    sum += subHash(e, depth + 1);
+                }
+                hasher.putLong(sum);
+            }
+        } else if (cls.isHidden() || cls.isSynthetic()) {
+            // Lambdas and method references. Their names are not stable between runs, but the bytecode that declares them (and the code it calls) is.
+            Class<?> host = cls.getNestHost();
+            HashCode bytes = classClosure(host);
+            if (bytes == null) {
+                throw new Unhashable("No class bytes for " + host.getName());
+            }
+            putTag("lambda").putString(host.getName(), StandardCharsets.UTF_8).putBytes(bytes.asBytes());
+            walkFields(o, cls, depth);
+        } else if (cls.getName().startsWith("java.") || cls.getName().startsWith("jdk.") || cls.getName().startsWith("sun.")) {
+            throw new Unhashable("Opaque JDK type " + cls.getName());
+        } else {
+            putTag(cls.getName());
+            walkFields(o, cls, depth);
+        }
+    }
+
+    private void walkMap(Map<?, ?> map, int depth) {
+        boolean ordered = map instanceof SortedMap || map instanceof LinkedHashMap;
+        hasher.putInt(map.size());
+        if (ordered) {
+            for (var e : map.entrySet()) {
+                walk(e.getKey(), depth + 1);
+                walk(e.getValue(), depth + 1);
+            }
+        } else {
+            long sum = 0;
+            for (var e : map.entrySet()) {
+                sum += subHash(e.getKey(), depth + 1) * 31 + subHash(e.getValue(), depth + 1);
+            }
+            hasher.putLong(sum);
+        }
+    }
+
+    /**
+     * Hash a single element in isolation, for order-insensitive combination.
+     */
+    private long subHash(@Nullable Object o, int depth) {
+        DatagenFingerprinter sub = new DatagenFingerprinter(visited);
+        sub.walk(o, depth);
+        return sub.hasher.hash().asLong();
+    }
+
+    private void walkFields(Object o, Class<?> cls, int depth) {
+        for (Field f : fields(cls)) {
+            try {
+                walk(f.get(o), depth + 1);
+            } catch (IllegalAccessException e) {
+                throw new Unhashable("Inaccessible field " + f);
+            }
+        }
+    }
+
+    private static Field[] fields(Class<?> cls) {
+        return FIELDS.computeIfAbsent(cls, c -> {
+            List<Field> ret = new ArrayList<>();
+            for (Class<?> k = c; k != null && k != Object.class; k = k.getSuperclass()) {
+                for (Field f : k.getDeclaredFields()) {
+                    if (!Modifier.isStatic(f.getModifiers()) && !Modifier.isTransient(f.getModifiers())) {
+                        f.setAccessible(true);
+                        ret.add(f);
+                    }
+                }
+            }
+            return ret.toArray(Field[]::new);
+        });
+    }
+
+    /**
+     * Game objects are identified by their registry name, walking them would pull in their entire state (block states, shapes, ...).
+     */
+    private static @Nullable ResourceKey<?> registeredKey(Object o) {
+        Registry<?> registry;
+        if (o instanceof Block) {
+            registry = BuiltInRegistries.BLOCK;
+        } else if (o instanceof Item) {
+            registry = BuiltInRegistries.ITEM;
+        } else if (o instanceof Fluid) {
+            registry = BuiltInRegistries.FLUID;
+        } else if (o instanceof EntityType<?>) {
+            registry = BuiltInRegistries.ENTITY_TYPE;
+        } else if (o instanceof BlockEntityType<?>) {
+            registry = BuiltInRegistries.BLOCK_ENTITY_TYPE;
+        } else {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Optional<ResourceKey<Object>> key = ((Registry<Object>) registry).getResourceKey(o);
+        return key.orElseThrow(() -> new Unhashable("Unregistered game object " + o));
+    }
+
+    private Hasher putTag(String tag) {
+        return hasher.putString(tag, StandardCharsets.UTF_8).putByte((byte) 1);
+    }
+}
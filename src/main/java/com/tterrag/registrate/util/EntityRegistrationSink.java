@@ -0,0 +1,141 @@
+package com.tterrag.registrate.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import javax.annotation.Nullable;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import com.tterrag.registrate.AbstractRegistrate;
+import com.tterrag.registrate.util.nullness.NonNullSupplier;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.SpawnPlacements;
+import net.minecraft.world.entity.ai.attributes.AttributeSupplier;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.neoforged.neoforge.event.entity.EntityAttributeCreationEvent;
+import net.neoforged.neoforge.event.entity.SpawnPlacementRegisterEvent;
+
+/**
+ * Entity attributes and spawn placements queued by entity builders, which are registered by a single one-time listener per event type rather than a listener per entity.
+ * <p>
+ * Thread-safe.
+ */
+@ApiStatus.Internal
+@RequiredArgsConstructor
+@Log4j2
+public final class EntityRegistrationSink {
+
+    private record Attributes(NonNullSupplier<? extends EntityType<?>> type, Supplier<AttributeSupplier.Builder> attributes) {}
+
+    private record Placement(NonNullSupplier<? extends EntityType<?>> type, SpawnPlacements.Type placement, Heightmap.Types heightmap, SpawnPlacements.SpawnPredicate<?> predicate) {}
+
+    private final AbstractRegistrate<?> owner;
+
+    /**
+     * Whether attribute suppliers are built on the common {@link ForkJoinPool}, see {@link AbstractRegistrate#buildAttributesInParallel()}.
+     */
+    @Getter @Setter
+    private volatile boolean parallelAttributes;
+
+    @Nullable
+    private List<Attributes> attributes;
+    @Nullable
+    private List<Placement> placements;
+
+    /**
+     * Queue attributes for an entity type.
+     *
+     * @param type
+     *            The entity type, which must be of a {@link LivingEntity}
+     * @param attributes
+     *            A supplier to the attributes for the entity
+     */
+    public synchronized void attributes(NonNullSupplier<? extends EntityType<?>> type, Supplier<AttributeSupplier.Builder> attributes) {
+        if (this.attributes == null) {
+            this.attributes = new ArrayList<>();
+            OneTimeEventReceiver.addModListener(owner, EntityAttributeCreationEvent.class, this::registerAttributes);
+        }
+        this.attributes.add(new Attributes(type, attributes));
+    }
+
+    /**
+     * Queue a spawn placement for an entity type.
+     *
+     * @param type
+     *            The entity type, which must be of a {@link Mob}
+     * @param placement
+     *            The type of placement to use
+     * @param heightmap
+     *            Which heightmap to use to choose placement locations
+     * @param predicate
+     *            A predicate to check spawn locations for validity
+     */
+    public synchronized void spawnPlacement(NonNullSupplier<? extends EntityType<?>> type, SpawnPlacements.Type placement, Heightmap.Types heightmap, SpawnPlacements.SpawnPredicate<?> predicate) {
+        if (placements == null) {
+            placements = new ArrayList<>();
+            OneTimeEventReceiver.addModListener(owner, SpawnPlacementRegisterEvent.class, this::registerPlacements);
+        }
+        placements.add(new Placement(type, placement, heightmap, predicate));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void registerAttributes(EntityAttributeCreationEvent event) {
+        List<Attributes> entries;
+        synchronized (this) {
+            entries = attributes;
+            attributes = null;
+        }
+        AttributeSupplier[] built = new AttributeSupplier[entries.size()];
+        Exception[] errors = null;
+        if (parallelAttributes && entries.size() > 1) {
+            // Errors are rethrown in order by the sequential pass below, rather than building the attributes a second time
+            Exception[] parallelErrors = new Exception[built.length];
+            IntStream.range(0, built.length).parallel().forEach(i -> {
+                try {
+                    built[i] = entries.get(i).attributes().get().build();
+                } catch (Exception ex) {
+                    parallelErrors[i] = ex;
+                    log.warn(DebugMarkers.REGISTER, "Error while building attributes in parallel, it will be reported when registering", ex);
+                }
+            });
+            errors = parallelErrors;
+        }
+        for (int i = 0; i < built.length; i++) {
+            Attributes entry = entries.get(i);
+            if (errors != null && errors[i] != null) {
+                throw new IllegalStateException("Failed to build attributes for entity " + EntityType.getKey(entry.type().get()) + " in parallel", errors[i]);
+            }
+            AttributeSupplier supplier = built[i];
+            if (supplier == null) {
+                supplier = entry.attributes().get().build();
+            }
+            event.put((EntityType<? extends LivingEntity>) entry.type().get(), supplier);
+        }
+        log.debug(DebugMarkers.REGISTER, "({}) Registered attributes for {} entities from 1 listener, rather than 1 listener each", owner.getModid(), built.length);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void registerPlacements(SpawnPlacementRegisterEvent event) {
+        List<Placement> entries;
+        synchronized (this) {
+            entries = placements;
+            placements = null;
+        }
+        for (Placement entry : entries) {
+            event.register((EntityType<Mob>) entry.type().get(), entry.placement(), entry.heightmap(), (SpawnPlacements.SpawnPredicate<Mob>) entry.predicate(),
+                    SpawnPlacementRegisterEvent.Operation.REPLACE);
+        }
+        log.debug(DebugMarkers.REGISTER, "({}) Registered spawn placements for {} entities from 1 listener, rather than 1 listener each", owner.getModid(), entries.size());
+    }
+}
@@ -0,0 +1,21 @@
+package com.tterrag.registrate.util;
+
+import com.google.common.hash.Hasher;
+
+/**
+ * Implemented by objects captured by data generators which know how to describe their own datagen-relevant state.
+ * <p>
+ * When incremental datagen is enabled, generator callbacks are fingerprinted by walking their captured state reflectively. Objects which cannot be walked deterministically (for instance because they
+ * hold identity-based state, or live in a module that is not open to reflection) force their provider type to always regenerate. Implementing this interface replaces the reflective walk for this
+ * object, so that such types can be skipped when unchanged.
+ */
+public interface Fingerprinted {
+
+    /**
+     * Put all state that can affect generated data into the given hasher. Two objects that put the same values must produce the same data.
+     *
+     * @param hasher
+     *            The hasher to write into
+     */
+    void fingerprint(Hasher hasher);
+}
@@ -3,8 +3,8 @@ package com.tterrag.registrate.util;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Table;
 import com.tterrag.registrate.AbstractRegistrate;
+import com.tterrag.registrate.util.RegistrateProfiler.Phase;
 import com.tterrag.registrate.util.nullness.NonnullType;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import net.neoforged.bus.api.Event;
 import net.neoforged.bus.api.EventPriority;
@@ -16,20 +16,47 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
-@RequiredArgsConstructor
+import javax.annotation.Nullable;
+
 @Log4j2
 public class OneTimeEventReceiver<T extends Event> implements Consumer<@NonnullType T> {
 
+    private final IEventBus bus;
+    private final Consumer<? super T> listener;
+    private final AtomicBoolean consumed = new AtomicBoolean();
+
+    /**
+     * @deprecated Use the static methods, which share a single bus listener between one-time listeners for the same event
+     */
+    @Deprecated
+    public OneTimeEventReceiver(IEventBus bus, Consumer<? super T> listener) {
+        this.bus = bus;
+        this.listener = listener;
+    }
+
+    @Override
+    @Deprecated
+    public void accept(T event) {
+        if (consumed.compareAndSet(false, true)) {
+            listener.accept(event);
+            unregister(bus, this, event);
+        }
+    }
 
     public static <T extends Event & IModBusEvent> void addModListener(AbstractRegistrate<?> owner, Class<? super T> evtClass, Consumer<? super T> listener) {
         OneTimeEventReceiver.<T>addModListener(owner, EventPriority.NORMAL, evtClass, listener);
     }
     
-    public static <T extends Event & IModBusEvent> void addModListener(AbstractRegistrate<?> owner, EventPriority priority, Class<? super T> evtClass, Consumer<? super T> listener) {
+    // Synchronized as registrates may be used from several threads during mod construction, see AbstractRegistrate#concurrentCapture
+    public static synchronized <T extends Event & IModBusEvent> void addModListener(AbstractRegistrate<?> owner, EventPriority priority, Class<? super T> evtClass, Consumer<? super T> listener) {
         if (owner.getModEventBus() == null) {
             if (!waitingModListeners.contains(owner, evtClass)) {
                 waitingModListeners.put(owner, evtClass, new ArrayList<>());
@@ -42,12 +69,12 @@ public class OneTimeEventReceiver<T extends Event> implements Consumer<@NonnullT
             for (var waitingListener : waitingModListeners.row(owner).entrySet()) {
                 for (var pair : waitingListener.getValue()) {
                     //noinspection unchecked
-                    OneTimeEventReceiver.<T>addListener(owner.getModEventBus(), pair.getKey(), (Class<? super T>) waitingListener.getKey(), (Consumer<? super T>) pair.getValue());
+                    OneTimeEventReceiver.<T>addListener(owner.getModid(), owner.getModEventBus(), pair.getKey(), (Class<? super T>) waitingListener.getKey(), (Consumer<? super T>) pair.getValue());
                 }
             }
             addModListener(owner, FMLLoadCompleteEvent.class, OneTimeEventReceiver::onLoadComplete);
         }
-        OneTimeEventReceiver.<T>addListener(owner.getModEventBus(), priority, evtClass, listener);
+        OneTimeEventReceiver.<T>addListener(owner.getModid(), owner.getModEventBus(), priority, evtClass, listener);
     }
     
     public static <T extends Event> void addForgeListener(Class<? super T> evtClass, Consumer<? super T> listener) {
@@ -66,24 +93,114 @@ public class OneTimeEventReceiver<T extends Event> implements Consumer<@NonnullT
     @SuppressWarnings("unchecked")
     @Deprecated
     public static <T extends Event> void addListener(IEventBus bus, EventPriority priority, Class<? super T> evtClass, Consumer<? super T> listener) {
-        bus.addListener(priority, false, (Class<T>) evtClass, new OneTimeEventReceiver<>(bus, listener));
+        OneTimeEventReceiver.<T>addListener(null, bus, priority, evtClass, listener);
     }
 
-    private static boolean seenModBus = false;
-    private static final Table<AbstractRegistrate<?>, Class<?>, List<Pair<EventPriority, Consumer<?>>>> waitingModListeners = HashBasedTable.create();
+    @SuppressWarnings("unchecked")
+    private static synchronized <T extends Event> void addListener(@Nullable String modid, IEventBus bus, EventPriority priority, Class<? super T> evtClass, Consumer<? super T> listener) {
+        Triple<IEventBus, Class<?>, EventPriority> key = Triple.of(bus, evtClass, priority);
+        Multiplexer<T> multiplexer = (Multiplexer<T>) openMultiplexers.get(key);
+        if (multiplexer == null) {
+            multiplexer = new Multiplexer<>(key);
+            openMultiplexers.put(key, multiplexer);
+            bus.addListener(priority, false, (Class<T>) evtClass, multiplexer);
+            busListeners++;
+        }
+        multiplexer.add(modid, listener);
+        oneTimeListeners++;
+    }
 
-    private final IEventBus bus;
-    private final Consumer<? super T> listener;
-    private final AtomicBoolean consumed = new AtomicBoolean();
+    /**
+     * A single bus listener which fans out to all one-time listeners for the same (bus, event, priority), and unregisters itself after the first event.
+     * <p>
+     * Listeners join the open multiplexer for their key until it fires, after which the next listener for that key registers a new one. Listeners sharing a multiplexer run in the order they were
+     * added, but all of them run at the position of the multiplexer on the bus, so ahead of other listeners for the same event and priority that were added to the bus after it. Every listener runs
+     * even if an earlier one throws, after which the first error is rethrown.
+     */
+    private static final class Multiplexer<T extends Event> implements Consumer<@NonnullType T> {
 
-    @Override
-    public void accept(T event) {
-        if (consumed.compareAndSet(false, true)) {
-            listener.accept(event);
-            unregister(bus, this, event);
+        private final Triple<IEventBus, Class<?>, EventPriority> key;
+        @Nullable
+        private String[] modids = new String[4];
+        @SuppressWarnings("unchecked")
+        private Consumer<? super T>[] listeners = new Consumer[4];
+        private int size;
+        /** Written under the class lock, read without it */
+        private volatile boolean fired;
+
+        Multiplexer(Triple<IEventBus, Class<?>, EventPriority> key) {
+            this.key = key;
+        }
+
+        /**
+         * Only called under the class lock, while this multiplexer is open
+         */
+        void add(@Nullable String modid, Consumer<? super T> listener) {
+            if (size == listeners.length) {
+                modids = Arrays.copyOf(modids, size * 2);
+                listeners = Arrays.copyOf(listeners, size * 2);
+            }
+            modids[size] = modid;
+            listeners[size++] = listener;
+        }
+
+        @Override
+        public void accept(T event) {
+            if (fired) {
+                return;
+            }
+            String[] modids;
+            Consumer<? super T>[] listeners;
+            int size;
+            synchronized (OneTimeEventReceiver.class) {
+                if (fired) {
+                    return;
+                }
+                fired = true;
+                // Closed before any listener runs, so that listeners added from now on wait for the next event
+                openMultiplexers.remove(key, this);
+                modids = this.modids;
+                listeners = this.listeners;
+                size = this.size;
+                // Release the listeners once they have run, they are never invoked again
+                this.modids = null;
+                this.listeners = null;
+            }
+            // Already marked as fired, so listeners skipped by an error would never run
+            Throwable error = null;
+            for (int i = 0; i < size; i++) {
+                long start = RegistrateProfiler.start();
+                try {
+                    listeners[i].accept(event);
+                } catch (RuntimeException | Error e) {
+                    if (error == null) {
+                        error = e;
+                    } else {
+                        error.addSuppressed(e);
+                    }
+                }
+                RegistrateProfiler.record(modids[i], event.getClass(), Phase.LISTENER, listeners[i].getClass(), start);
+            }
+            avoidedDispatches.add(size - 1);
+            key.getLeft().unregister(this);
+            if (error instanceof RuntimeException e) {
+                throw e;
+            } else if (error != null) {
+                throw (Error) error;
+            }
         }
     }
 
+    /** Multiplexers which have not fired yet, which new listeners join */
+    private static final Map<Triple<IEventBus, Class<?>, EventPriority>, Multiplexer<?>> openMultiplexers = new HashMap<>();
+    private static int oneTimeListeners;
+    private static int busListeners;
+    /** Listener dispatches saved by fanning out from a single bus listener */
+    private static final LongAdder avoidedDispatches = new LongAdder();
+
+    private static boolean seenModBus = false;
+    private static final Table<AbstractRegistrate<?>, Class<?>, List<Pair<EventPriority, Consumer<?>>>> waitingModListeners = HashBasedTable.create();
+
     private static final List<Triple<IEventBus, Object, Class<? extends Event>>> toUnregister = new ArrayList<>();
 
     private static synchronized void unregister(IEventBus bus, Object listener, Event event) {
@@ -102,6 +219,10 @@ public class OneTimeEventReceiver<T extends Event> implements Consumer<@NonnullT
         event.enqueueWork(() -> {
             toUnregister.forEach(t -> t.getLeft().unregister(t.getMiddle()));
             toUnregister.clear();
+            synchronized (OneTimeEventReceiver.class) {
+                log.debug("Multiplexed {} one-time listeners into {} bus listeners, avoiding {} listener dispatches", oneTimeListeners, busListeners, avoidedDispatches.sum());
+            }
+            RegistrateProfiler.dump();
         });
     }
 }
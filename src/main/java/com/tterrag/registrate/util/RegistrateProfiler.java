@@ -0,0 +1,212 @@
+package com.tterrag.registrate.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.Nullable;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import net.neoforged.fml.loading.FMLPaths;
+
+/**
+ * Startup profiler for registration work done by Registrate.
+ * <p>
+ * Records wall time of entry registration, register callbacks, after-register callbacks and {@link OneTimeEventReceiver} listeners, aggregated per mod, group (registry or event) and entry. Once
+ * loading completes, a sorted report and a collapsed-stack file (readable by flamegraph.pl, speedscope, etc.) are written to {@code <gamedir>/registrate/}.
+ * <p>
+ * Enabled by starting the game with {@code -Dregistrate.profile=true}. The flag is read once into a {@code static final} field, so when disabled every call site folds away to nothing after JIT and
+ * nothing is allocated. Callers should follow the pattern:
+ *
+ * <pre>
+ * {@code
+ * long start = RegistrateProfiler.start();
+ * doWork();
+ * RegistrateProfiler.record(modid, group, Phase.REGISTER, entry, start);
+ * }
+ * </pre>
+ */
+@ApiStatus.Internal
+@Log4j2
+public final class RegistrateProfiler {
+
+    public static final boolean ENABLED = Boolean.getBoolean("registrate.profile");
+
+    @RequiredArgsConstructor
+    public enum Phase {
+        CONSTRUCT("construct"),
+        REGISTER("register"),
+        CALLBACK("callback"),
+        AFTER_REGISTER("after_register"),
+        LISTENER("listener"),
+        ;
+
+        private final String frame;
+    }
+
+    private static final class Stat {
+        final LongAdder nanos = new LongAdder();
+        final LongAdder count = new LongAdder();
+    }
+
+    /** Keyed by folded stack, i.e. {@code modid;group;phase[;entry]} */
+    private static final Map<String, Stat> stats = new ConcurrentHashMap<>();
+
+    private RegistrateProfiler() {}
+
+    /**
+     * @return The current time for a later call to {@link #record(String, Object, Phase, Object, long)}, or {@code 0} when disabled
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Force a full collection and measure the heap in use afterwards, which approximates the retained heap. Only for diagnostics when profiling is enabled, as collections are expensive.
+     *
+     * @return The heap in use after a full collection, in bytes
+     */
+    public static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Record the time elapsed since {@code start}. Does nothing when disabled. Arguments are only converted to strings when enabled, so passing registry keys and resource locations is free.
+     *
+     * @param modid
+     *            The mod the work was done for, or {@code null} if unknown
+     * @param group
+     *            The registry or event the work belongs to
+     * @param phase
+     *            The kind of work
+     * @param entry
+     *            The entry (or listener) the work was done for, or {@code null} to only aggregate at the group level
+     * @param start
+     *            The value of {@link #start()} before the work began
+     */
+    public static void record(@Nullable String modid, Object group, Phase phase, @Nullable Object entry, long start) {
+        if (!ENABLED) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        StringBuilder key = new StringBuilder(64)
+                .append(modid == null ? "unknown" : modid).append(';')
+                .append(frame(group)).append(';')
+                .append(phase.frame);
+        if (entry != null) {
+            key.append(';').append(frame(entry));
+        }
+        Stat stat = stats.computeIfAbsent(key.toString(), $ -> new Stat());
+        stat.nanos.add(elapsed);
+        stat.count.increment();
+    }
+
+    private static String frame(Object o) {
+        // Collapsed stacks use ';' as the frame separator and ' ' before the value
+        String s = o instanceof Class<?> cls ? cls.getName() : String.valueOf(o);
+        return s.replace(';', ':').replace(' ', '_');
+    }
+
+    /**
+     * Write the report to the default location, if enabled and anything was recorded. Called once loading completes.
+     */
+    static void dump() {
+        if (ENABLED && !stats.isEmpty()) {
+            dump(FMLPaths.GAMEDIR.get().resolve("registrate"));
+        }
+    }
+
+    /**
+     * Write {@code registrate-profile.txt} (sorted report) and {@code registrate-profile.folded} (collapsed stacks, in nanoseconds) to the given directory.
+     */
+    public static synchronized void dump(Path dir) {
+        Map<String, long[]> snapshot = new TreeMap<>();
+        stats.forEach((k, v) -> snapshot.put(k, new long[] { v.nanos.sum(), v.count.sum() }));
+        try {
+            Files.createDirectories(dir);
+            Path folded = dir.resolve("registrate-profile.folded");
+            try (BufferedWriter out = Files.newBufferedWriter(folded, StandardCharsets.UTF_8)) {
+                for (var e : snapshot.entrySet()) {
+                    out.write(e.getKey());
+                    out.write(' ');
+                    out.write(Long.toString(e.getValue()[0]));
+                    out.newLine();
+                }
+            }
+            Path report = dir.resolve("registrate-profile.txt");
+            try (BufferedWriter out = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+                writeReport(out, snapshot);
+            }
+            log.info("Wrote registration profile to {}", report.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Could not write registration profile", e);
+        }
+    }
+
+    private static void writeReport(BufferedWriter out, Map<String, long[]> snapshot) throws IOException {
+        // mod -> group -> phase -> [nanos, count]
+        Map<String, Map<String, Map<String, long[]>>> tree = new TreeMap<>();
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>();
+        for (var e : snapshot.entrySet()) {
+            String[] frames = e.getKey().split(";", 4);
+            long[] phase = tree.computeIfAbsent(frames[0], $ -> new TreeMap<>())
+                    .computeIfAbsent(frames[1], $ -> new TreeMap<>())
+                    .computeIfAbsent(frames[2], $ -> new long[2]);
+            phase[0] += e.getValue()[0];
+            phase[1] += e.getValue()[1];
+            if (frames.length == 4) {
+                entries.add(e);
+            }
+        }
+
+        long total = snapshot.values().stream().mapToLong(v -> v[0]).sum();
+        out.write(String.format(Locale.ROOT, "Registrate startup profile, %s total%n%n", millis(total)));
+
+        for (var mod : sorted(tree, m -> m.values().stream().flatMap(g -> g.values().stream()).mapToLong(v -> v[0]).sum()).entrySet()) {
+            out.write(String.format(Locale.ROOT, "%s  %s%n", mod.getKey(), millis(mod.getValue())));
+            var groups = tree.get(mod.getKey());
+            for (var group : sorted(groups, g -> g.values().stream().mapToLong(v -> v[0]).sum()).entrySet()) {
+                out.write(String.format(Locale.ROOT, "    %-60s %s%n", group.getKey(), millis(group.getValue())));
+                for (var phase : groups.get(group.getKey()).entrySet()) {
+                    out.write(String.format(Locale.ROOT, "        %-56s %s (%d calls)%n", phase.getKey(), millis(phase.getValue()[0]), phase.getValue()[1]));
+                }
+            }
+            out.newLine();
+        }
+
+        out.write(String.format(Locale.ROOT, "Slowest entries%n"));
+        entries.sort(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[0]).reversed());
+        for (var e : entries.subList(0, Math.min(100, entries.size()))) {
+            out.write(String.format(Locale.ROOT, "    %-80s %s%n", e.getKey().replace(';', ' '), millis(e.getValue()[0])));
+        }
+    }
+
+    private static <V> Map<String, Long> sorted(Map<String, V> map, ToLongFunction<V> weight) {
+        Map<String, Long> ret = new LinkedHashMap<>();
+        map.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, V> e) -> weight.applyAsLong(e.getValue())).reversed())
+                .forEach(e -> ret.put(e.getKey(), weight.applyAsLong(e.getValue())));
+        return ret;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f ms", nanos / 1_000_000d);
+    }
+}
@@ -0,0 +1,310 @@
+package com.tterrag.registrate.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceKey;
+
+/**
+ * Compact two-level index of registrations, keyed by registry and then by entry name.
+ * <p>
+ * Registry keys are interned into small integer slots (registry keys are themselves interned by {@link ResourceKey#create(ResourceKey, net.minecraft.resources.ResourceLocation)}, so identity is
+ * sufficient). Each slot holds an open-addressed name index over dense arrays of names and values, which keeps lookups to a single probe sequence and iteration to a plain array walk.
+ * <p>
+ * Values are kept in insertion order, and replacing the value for an existing name keeps its original position.
+ * <p>
+ * Once all values are added, the store can be {@link #compact() compacted}, which trims it to size and makes it immutable.
+ * <p>
+ * Not thread-safe.
+ *
+ * @param <V>
+ *            The type of value stored
+ */
+@ApiStatus.Internal
+public final class RegistrationStore<V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<ResourceKey<? extends Registry<?>>, Slot<V>> slots = new IdentityHashMap<>();
+    /** Cache of the last slot looked up, registrations and lookups tend to come in long runs of the same registry */
+    @Nullable
+    private Slot<V> lastSlot;
+    private boolean compacted;
+
+    @Nullable
+    private Slot<V> slot(ResourceKey<? extends Registry<?>> type) {
+        Slot<V> slot = this.lastSlot;
+        if (slot != null && slot.type == type) {
+            return slot;
+        }
+        slot = slots.get(type);
+        if (slot != null) {
+            this.lastSlot = slot;
+        }
+        return slot;
+    }
+
+    /**
+     * @return The value registered for the given registry and name, or {@code null} if there is none
+     */
+    @Nullable
+    public V get(ResourceKey<? extends Registry<?>> type, String name) {
+        Slot<V> slot = slot(type);
+        return slot == null ? null : slot.get(name);
+    }
+
+    /**
+     * Add a value, replacing (in place) any existing value for the same registry and name.
+     *
+     * @return The previous value, or {@code null} if there was none
+     */
+    @Nullable
+    public V put(ResourceKey<? extends Registry<?>> type, String name, V value) {
+        if (compacted) {
+            throw new IllegalStateException("Cannot add " + name + " of type " + type.location() + ", registrations are already compacted");
+        }
+        return slotOrCreate(type).put(name, value);
+    }
+
+    /**
+     * Make room for the given number of additional values for the given registry, so that adding them grows the arrays and rehashes the name index at most once, now, rather than repeatedly.
+     */
+    public void reserve(ResourceKey<? extends Registry<?>> type, int additional) {
+        if (!compacted) {
+            slotOrCreate(type).reserve(additional);
+        }
+    }
+
+    /**
+     * Trim the arrays and name index of every registry to the number of values they hold, and make this store immutable. Any later {@link #put(ResourceKey, String, Object) put} throws.
+     */
+    public void compact() {
+        compacted = true;
+        for (Slot<V> slot : slots.values()) {
+            slot.trim();
+        }
+    }
+
+    private Slot<V> slotOrCreate(ResourceKey<? extends Registry<?>> type) {
+        Slot<V> slot = slot(type);
+        if (slot == null) {
+            slot = new Slot<>(type);
+            slots.put(type, slot);
+            this.lastSlot = slot;
+        }
+        return slot;
+    }
+
+    /**
+     * @return {@code true} if no values have been added for any registry
+     */
+    public boolean isEmpty() {
+        for (Slot<V> slot : slots.values()) {
+            if (slot.size > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of values registered for all registries
+     */
+    public int size() {
+        int ret = 0;
+        for (Slot<V> slot : slots.values()) {
+            ret += slot.size;
+        }
+        return ret;
+    }
+
+    /**
+     * @return The number of values registered for the given registry
+     */
+    public int size(ResourceKey<? extends Registry<?>> type) {
+        Slot<V> slot = slot(type);
+        return slot == null ? 0 : slot.size;
+    }
+
+    /**
+     * @return An unmodifiable, insertion-ordered view of all values registered for the given registry
+     */
+    public List<V> getAll(ResourceKey<? extends Registry<?>> type) {
+        Slot<V> slot = slot(type);
+        return slot == null ? List.of() : slot.view;
+    }
+
+    /**
+     * Visit all values registered for the given registry, in insertion order, without allocating a view or iterator.
+     */
+    public void forEach(ResourceKey<? extends Registry<?>> type, Consumer<? super V> action) {
+        Slot<V> slot = slot(type);
+        if (slot != null) {
+            slot.forEach(action);
+        }
+    }
+
+    /**
+     * Visit all values of all registries, in insertion order within each registry.
+     */
+    public void forEach(Consumer<? super V> action) {
+        for (Slot<V> slot : slots.values()) {
+            slot.forEach(action);
+        }
+    }
+
+    private static final class Slot<V> {
+
+        final ResourceKey<? extends Registry<?>> type;
+
+        String[] names = new String[INITIAL_CAPACITY];
+        Object[] values = new Object[INITIAL_CAPACITY];
+        int size;
+
+        /** Open-addressed table of (index + 1) into the dense arrays, 0 marks an empty bucket */
+        int[] table = new int[INITIAL_CAPACITY * 2];
+        int mask = table.length - 1;
+
+        final List<V> view = new View();
+
+        Slot(ResourceKey<? extends Registry<?>> type) {
+            this.type = type;
+        }
+
+        @SuppressWarnings("unchecked")
+        V value(int index) {
+            return (V) values[index];
+        }
+
+        private static int mix(int hash) {
+            // Same spreader as fastutil's HashCommon.mix, String hashes are poorly distributed in the low bits
+            int h = hash * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        /**
+         * @return The index of the given name in the dense arrays, or -1
+         */
+        int indexOf(String name) {
+            int[] table = this.table;
+            int mask = this.mask;
+            for (int pos = mix(name.hashCode()) & mask;; pos = (pos + 1) & mask) {
+                int idx = table[pos];
+                if (idx == 0) {
+                    return -1;
+                }
+                if (names[idx - 1].equals(name)) {
+                    return idx - 1;
+                }
+            }
+        }
+
+        @Nullable
+        V get(String name) {
+            int idx = indexOf(name);
+            return idx < 0 ? null : value(idx);
+        }
+
+        @Nullable
+        V put(String name, V value) {
+            int idx = indexOf(name);
+            if (idx >= 0) {
+                V prev = value(idx);
+                values[idx] = value;
+                return prev;
+            }
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            names[size] = name;
+            values[size] = value;
+            size++;
+            // Keep the load factor at or below 0.5
+            if (size * 2 > table.length) {
+                rehash(table.length * 2);
+            } else {
+                insert(name, size);
+            }
+            return null;
+        }
+
+        void reserve(int additional) {
+            int needed = size + additional;
+            if (needed > names.length) {
+                int capacity = powerOfTwo(needed);
+                names = Arrays.copyOf(names, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            if (needed * 2 > table.length) {
+                rehash(powerOfTwo(needed * 2));
+            }
+        }
+
+        void trim() {
+            if (size < names.length) {
+                names = Arrays.copyOf(names, size);
+                values = Arrays.copyOf(values, size);
+            }
+            int capacity = powerOfTwo(size * 2);
+            if (capacity < table.length) {
+                rehash(capacity);
+            }
+        }
+
+        private static int powerOfTwo(int min) {
+            return Math.max(INITIAL_CAPACITY, Integer.highestOneBit(min - 1) << 1);
+        }
+
+        private void insert(String name, int ref) {
+            int pos = mix(name.hashCode()) & mask;
+            while (table[pos] != 0) {
+                pos = (pos + 1) & mask;
+            }
+            table[pos] = ref;
+        }
+
+        private void rehash(int capacity) {
+            table = new int[capacity];
+            mask = capacity - 1;
+            for (int i = 0; i < size; i++) {
+                insert(names[i], i + 1);
+            }
+        }
+
+        /** Random access so that {@code parallelStream()} over the view splits evenly */
+        private final class View extends AbstractList<V> implements RandomAccess {
+
+            @Override
+            public V get(int index) {
+                if (index >= size) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return value(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        }
+
+        void forEach(Consumer<? super V> action) {
+            // Bound by the size at the start, entries added during iteration are not visited
+            int size = this.size;
+            for (int i = 0; i < size; i++) {
+                action.accept(value(i));
+            }
+        }
+    }
+}
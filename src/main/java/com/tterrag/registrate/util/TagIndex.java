@@ -0,0 +1,109 @@
+package com.tterrag.registrate.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import com.google.common.hash.Hasher;
+import com.tterrag.registrate.providers.ProviderType;
+import com.tterrag.registrate.providers.RegistrateTagsProvider;
+import com.tterrag.registrate.util.nullness.NonNullConsumer;
+
+import net.minecraft.data.tags.TagsProvider;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagEntry;
+import net.minecraft.tags.TagKey;
+
+/**
+ * Inverted index of the tags added to entries by builders, from tag to tagged entries, per tag provider type.
+ * <p>
+ * Rather than a data generator per entry that adds the entry to each of its tags, which looks up the tag builder once per entry and tag, a single data generator per provider type adds all entries
+ * of each tag in one pass. Tags keep the order they were first used in, and entries the order they were tagged in.
+ * <p>
+ * Thread-safe.
+ */
+@ApiStatus.Internal
+public final class TagIndex {
+
+    private final Map<ProviderType<?>, Map<TagKey<?>, Set<ResourceLocation>>> tags = new HashMap<>();
+
+    /**
+     * Add an entry to a tag.
+     *
+     * @return {@code true} if this is the first tag of the given provider type, in which case the caller must register the {@link #generator(ProviderType) generator} for it
+     */
+    public synchronized boolean add(ProviderType<?> type, TagKey<?> tag, ResourceLocation entry) {
+        boolean first = !tags.containsKey(type);
+        tags.computeIfAbsent(type, $ -> new LinkedHashMap<>()).computeIfAbsent(tag, $ -> new LinkedHashSet<>()).add(entry);
+        return first;
+    }
+
+    /**
+     * Remove an entry from a tag, if it was added.
+     */
+    public synchronized void remove(ProviderType<?> type, TagKey<?> tag, ResourceLocation entry) {
+        Map<TagKey<?>, Set<ResourceLocation>> byTag = tags.get(type);
+        Set<ResourceLocation> entries = byTag == null ? null : byTag.get(tag);
+        if (entries != null) {
+            entries.remove(entry);
+        }
+    }
+
+    /**
+     * @return A snapshot of the non-empty tags of the given provider type, and their entries
+     */
+    public synchronized Map<TagKey<?>, List<ResourceLocation>> get(ProviderType<?> type) {
+        Map<TagKey<?>, List<ResourceLocation>> ret = new LinkedHashMap<>();
+        tags.getOrDefault(type, Map.of()).forEach((tag, entries) -> {
+            if (!entries.isEmpty()) {
+                ret.put(tag, List.copyOf(entries));
+            }
+        });
+        return ret;
+    }
+
+    /**
+     * @return The data generator which adds the indexed tags of the given provider type
+     */
+    public <T, P extends RegistrateTagsProvider<T>> NonNullConsumer<P> generator(ProviderType<? extends P> type) {
+        return new Generator<>(type);
+    }
+
+    private final class Generator<T, P extends RegistrateTagsProvider<T>> implements NonNullConsumer<P>, Fingerprinted {
+
+        private final ProviderType<? extends P> type;
+
+        Generator(ProviderType<? extends P> type) {
+            this.type = type;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void accept(P prov) {
+            for (var e : get(type).entrySet()) {
+                TagsProvider.TagAppender<T> appender = prov.addTag((TagKey<T>) e.getKey());
+                for (ResourceLocation entry : e.getValue()) {
+                    appender.add(TagEntry.element(entry));
+                }
+            }
+        }
+
+        @Override
+        public void fingerprint(Hasher hasher) {
+            for (var e : get(type).entrySet()) {
+                hasher.putString(e.getKey().registry().location().toString(), StandardCharsets.UTF_8)
+                        .putString(e.getKey().location().toString(), StandardCharsets.UTF_8)
+                        .putInt(e.getValue().size());
+                for (ResourceLocation entry : e.getValue()) {
+                    hasher.putString(entry.toString(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+    }
+}
@@ -1,27 +1,22 @@
 package com.tterrag.registrate.util.entry;
 
-import javax.annotation.Nullable;
-
+import com.tterrag.registrate.util.nullness.LazySupplier;
 import com.tterrag.registrate.util.nullness.NonNullSupplier;
 
+/**
+ * Supplies the object of a {@link RegistryEntry} which is looked up on first access. Thread-safe.
+ */
 public class LazyRegistryEntry<R, T extends R> implements NonNullSupplier<T> {
-    
-    @Nullable
-    private NonNullSupplier<? extends RegistryEntry<R, T>> supplier;
-    @Nullable
-    private RegistryEntry<R, T> value;
+
+    /** The lookup is idempotent, so racing threads may each do it */
+    private final LazySupplier<? extends RegistryEntry<R, T>> entry;
 
     public LazyRegistryEntry(NonNullSupplier<? extends RegistryEntry<R, T>> supplier) {
-        this.supplier = supplier;
+        this.entry = LazySupplier.racy(supplier);
     }
-    
+
     @Override
     public T get() {
-        NonNullSupplier<? extends RegistryEntry<R, T>> supplier = this.supplier;
-        if (supplier != null) {
-            this.value = supplier.get();
-            this.supplier = null;
-        }
-        return this.value.get();
+        return entry.get().get();
     }
 }
@@ -1,5 +1,6 @@
 package com.tterrag.registrate.util.entry;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -47,6 +48,20 @@ public class RegistryEntry<R, T extends R> implements NonNullSupplier<T> {
     private final AbstractRegistrate<?> owner;
     @Delegate(excludes = Exclusions.class)
     private final @Nullable DeferredHolder<R, T> delegate;
+    /** The resolved value, cached on first successful {@link #get()}. Racy but idempotent, every thread resolves the same value. */
+    private @Nullable T value;
+    /** Tags of this entry as a bitset over {@link TagHandle#getId()}, computed on first {@link #hasTag(TagHandle)} and whenever tags are rebound */
+    private @Nullable TagBits tagBits;
+
+    private static final class TagBits {
+        final int epoch;
+        final long[] bits;
+
+        TagBits(int epoch, long[] bits) {
+            this.epoch = epoch;
+            this.bits = bits;
+        }
+    }
 
     @SuppressWarnings("unused")
     public RegistryEntry(AbstractRegistrate<?> owner, DeferredHolder<R, T> delegate) {
@@ -89,13 +104,23 @@ public class RegistryEntry<R, T extends R> implements NonNullSupplier<T> {
 
     /**
      * Get the entry, throwing an exception if it is not present for any reason.
+     * <p>
+     * Once the entry has been resolved, it is cached and this becomes a single field read. See {@link #invalidate()} if the underlying registry value can be replaced.
      * 
      * @return The (non-null) entry
      */
     @Override
     public @NonnullType T get() {
-        DeferredHolder<R,T> delegate = this.delegate;
-        return Objects.requireNonNull(getUnchecked(), () -> delegate == null ? "Registry entry is empty" : "Registry entry not present: " + delegate.getId());
+        T value = this.value;
+        return value != null ? value : resolve();
+    }
+
+    private T resolve() {
+        T value = getUnchecked();
+        if (value == null) {
+            throw new NullPointerException(delegate == null ? "Registry entry is empty" : "Registry entry not present: " + delegate.getId());
+        }
+        return this.value = value;
     }
 
     /**
@@ -104,10 +129,75 @@ public class RegistryEntry<R, T extends R> implements NonNullSupplier<T> {
      * @return The (nullable) entry
      */
     public @Nullable T getUnchecked() {
+        T value = this.value;
+        if (value != null) {
+            return value;
+        }
         DeferredHolder<R, T> delegate = this.delegate;
         return delegate == null ? null : delegate.get();
     }
 
+    /**
+     * Drop the cached value of this entry, so that the next {@link #get()} resolves it from the registry again.
+     * <p>
+     * Registrate's entries live in static registries, whose values never change once bound, so this is never necessary for them. It exists for code that rebinds the underlying holder, for example
+     * when a registry is reloaded or replaced in a test environment.
+     */
+    public void invalidate() {
+        this.value = null;
+        this.tagBits = null;
+    }
+
+    /**
+     * Check whether this entry is in the given tag, like {@link DeferredHolder#is(TagKey)}.
+     * <p>
+     * The tags of this entry are turned into a bitset over {@link TagHandle} IDs the first time this is called after tags are (re)bound, after which each check is a single bit test.
+     *
+     * @param tag
+     *            The tag to check
+     * @return {@code true} if this entry is in the tag
+     * @throws IllegalStateException
+     *             if the tags of this entry are not bound yet
+     */
+    public boolean hasTag(TagHandle<R> tag) {
+        TagBits tagBits = this.tagBits;
+        if (tagBits == null || tagBits.epoch != TagHandle.epoch()) {
+            tagBits = computeTagBits();
+        }
+        int id = tag.getId();
+        int word = id >>> 6;
+        return word < tagBits.bits.length && (tagBits.bits[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * Check whether this entry is in the given tag. Prefer {@link #hasTag(TagHandle)} with a stored handle on hot paths, this looks up the handle first.
+     *
+     * @param tag
+     *            The tag to check
+     * @return {@code true} if this entry is in the tag
+     */
+    public boolean hasTag(TagKey<R> tag) {
+        return hasTag(TagHandle.of(tag));
+    }
+
+    private TagBits computeTagBits() {
+        // Read the epoch first, so that tags rebound while computing are picked up by the next check
+        int epoch = TagHandle.epoch();
+        DeferredHolder<R, T> delegate = this.delegate;
+        long[] bits = new long[0];
+        if (delegate != null) {
+            for (TagKey<R> tag : (Iterable<TagKey<R>>) delegate.tags()::iterator) {
+                int id = TagHandle.of(tag).getId();
+                int word = id >>> 6;
+                if (word >= bits.length) {
+                    bits = Arrays.copyOf(bits, word + 1);
+                }
+                bits[word] |= 1L << id;
+            }
+        }
+        return this.tagBits = new TagBits(epoch, bits);
+    }
+
     public <X, Y extends X> RegistryEntry<X, Y> getSibling(ResourceKey<? extends Registry<X>> registryType) {
         return owner.get(getId().getPath(), registryType);
     }
@@ -0,0 +1,65 @@
+package com.tterrag.registrate.util.entry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Getter;
+import net.minecraft.tags.TagKey;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
+
+/**
+ * A {@link TagKey} with a dense integer ID, for fast membership checks with {@link RegistryEntry#hasTag(TagHandle)}.
+ * <p>
+ * Handles are interned, so there is exactly one handle per tag key. Look them up once and keep them in a field (typically {@code static final}), as {@link #of(TagKey)} itself is a map lookup.
+ *
+ * @param <R>
+ *            The registry type of the tag
+ */
+public final class TagHandle<R> {
+
+    private static final Map<TagKey<?>, TagHandle<?>> HANDLES = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    /** Incremented whenever tags are rebound, which invalidates all memberships computed before */
+    private static final AtomicInteger EPOCH = new AtomicInteger();
+
+    static {
+        // Highest priority, so that listeners checking tags see the new ones
+        NeoForge.EVENT_BUS.addListener(EventPriority.HIGHEST, false, TagsUpdatedEvent.class, $ -> EPOCH.incrementAndGet());
+    }
+
+    @Getter
+    private final TagKey<R> key;
+    @Getter
+    private final int id;
+
+    private TagHandle(TagKey<R> key, int id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    /**
+     * @param key
+     *            The tag key
+     * @return The handle for the given tag key
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> TagHandle<R> of(TagKey<R> key) {
+        TagHandle<?> ret = HANDLES.get(key);
+        if (ret == null) {
+            ret = HANDLES.computeIfAbsent(key, k -> new TagHandle<>(k, NEXT_ID.getAndIncrement()));
+        }
+        return (TagHandle<R>) ret;
+    }
+
+    static int epoch() {
+        return EPOCH.get();
+    }
+
+    @Override
+    public String toString() {
+        return "TagHandle[" + key + " #" + id + "]";
+    }
+}
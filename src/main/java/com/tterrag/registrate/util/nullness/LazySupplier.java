@@ -0,0 +1,147 @@
+package com.tterrag.registrate.util.nullness;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link NonNullSupplier} which computes its value on first access and caches it, in a single object. Once computed, the supplier it was created with is released.
+ * <p>
+ * There are three variants, which differ in how they publish the value:
+ * <ul>
+ * <li>{@link #single(Supplier)}: No synchronization at all, for values only ever accessed by one thread (or handed over with a happens-before edge, such as a thread start).</li>
+ * <li>{@link #racy(Supplier)}: Safe to access from any thread, but the delegate may be invoked more than once by racing threads, each of which may see its own result. Only for idempotent delegates
+ * whose results are interchangeable, like lookups.</li>
+ * <li>{@link #locked(Supplier)}: Safe to access from any thread, and the delegate is invoked exactly once, using double-checked locking. This is what {@link NonNullSupplier#lazy(Supplier)}
+ * returns.</li>
+ * </ul>
+ * Once computed, {@link #get()} is a single field read and a null check for all variants. The delegate must not return {@code null}.
+ *
+ * @param <T>
+ *            The type of the value
+ */
+public abstract sealed class LazySupplier<@NonnullType T> implements NonNullSupplier<T> {
+
+    private static final String NULL_VALUE = "Unexpected null value from lazy supplier";
+
+    /**
+     * @return A lazy supplier without any synchronization
+     */
+    public static <T> LazySupplier<T> single(Supplier<@NonnullType T> delegate) {
+        return new Single<>(delegate);
+    }
+
+    /**
+     * @return A thread-safe lazy supplier, which may invoke the delegate more than once when accessed concurrently before it has a value
+     */
+    public static <T> LazySupplier<T> racy(Supplier<@NonnullType T> delegate) {
+        return new Racy<>(delegate);
+    }
+
+    /**
+     * @return A thread-safe lazy supplier, which invokes the delegate exactly once
+     */
+    public static <T> LazySupplier<T> locked(Supplier<@NonnullType T> delegate) {
+        return new Locked<>(delegate);
+    }
+
+    private LazySupplier() {}
+
+    /**
+     * @return {@code true} if the value has been computed
+     */
+    public abstract boolean isComputed();
+
+    private static final class Single<T> extends LazySupplier<T> {
+
+        @Nullable
+        private Supplier<T> delegate;
+        @Nullable
+        private T value;
+
+        Single(Supplier<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public T get() {
+            T value = this.value;
+            if (value == null) {
+                this.value = value = Objects.requireNonNull(delegate.get(), NULL_VALUE);
+                delegate = null;
+            }
+            return value;
+        }
+
+        @Override
+        public boolean isComputed() {
+            return value != null;
+        }
+    }
+
+    private static final class Racy<T> extends LazySupplier<T> {
+
+        /** Released after the value is published, so seeing {@code null} here guarantees seeing the value */
+        @Nullable
+        private volatile Supplier<T> delegate;
+        @Nullable
+        private volatile T value;
+
+        Racy(Supplier<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public T get() {
+            T value = this.value;
+            if (value == null) {
+                Supplier<T> delegate = this.delegate;
+                if (delegate == null) {
+                    return this.value;
+                }
+                this.value = value = Objects.requireNonNull(delegate.get(), NULL_VALUE);
+                this.delegate = null;
+            }
+            return value;
+        }
+
+        @Override
+        public boolean isComputed() {
+            return value != null;
+        }
+    }
+
+    private static final class Locked<T> extends LazySupplier<T> {
+
+        /** Only accessed while holding the monitor of this object */
+        @Nullable
+        private Supplier<T> delegate;
+        @Nullable
+        private volatile T value;
+
+        Locked(Supplier<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public T get() {
+            T value = this.value;
+            if (value == null) {
+                synchronized (this) {
+                    value = this.value;
+                    if (value == null) {
+                        this.value = value = Objects.requireNonNull(delegate.get(), NULL_VALUE);
+                        delegate = null;
+                    }
+                }
+            }
+            return value;
+        }
+
+        @Override
+        public boolean isComputed() {
+            return value != null;
+        }
+    }
+}
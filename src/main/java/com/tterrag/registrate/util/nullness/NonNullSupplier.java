@@ -1,7 +1,5 @@
 package com.tterrag.registrate.util.nullness;
 
-import net.neoforged.neoforge.common.util.Lazy;
-
 import java.util.Objects;
 import java.util.function.Supplier;
 
@@ -28,7 +26,10 @@ public interface NonNullSupplier<@NonnullType T> extends Supplier<T> {
         return lazy(this);
     }
 
+    /**
+     * @return A thread-safe supplier which invokes the given supplier exactly once, see {@link LazySupplier#locked(Supplier)}
+     */
     static <T> NonNullSupplier<T> lazy(Supplier<@NonnullType T> sup) {
-        return Lazy.of(sup)::get;
+        return LazySupplier.locked(sup);
     }
 }
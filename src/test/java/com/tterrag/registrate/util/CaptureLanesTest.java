@@ -0,0 +1,122 @@
+package com.tterrag.registrate.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Stress test for {@link CaptureLanes}: many contexts capture concurrently on a small pool of reused threads while another thread keeps reading, and the final order must always match a sequential
+ * capture.
+ */
+public class CaptureLanesTest {
+
+    private static final List<ResourceKey<? extends Registry<?>>> TYPES = List.of(
+            ResourceKey.createRegistryKey(new ResourceLocation("test", "first")),
+            ResourceKey.createRegistryKey(new ResourceLocation("test", "second")),
+            ResourceKey.createRegistryKey(new ResourceLocation("test", "third")));
+
+    private static final int CONTEXTS = 16;
+    private static final int ENTRIES = 500;
+    private static final int THREADS = 4;
+    private static final int ROUNDS = 20;
+
+    private static final ThreadLocal<String> CONTEXT = new ThreadLocal<>();
+
+    private static void capture(CaptureLanes<String> lanes, int context) {
+        String mod = "mod" + context;
+        CONTEXT.set(mod);
+        try {
+            for (int i = 0; i < ENTRIES; i++) {
+                // Interleave registries, and start each context with a different one
+                ResourceKey<? extends Registry<?>> type = TYPES.get((i + context) % TYPES.size());
+                String name = mod + "_" + i;
+                lanes.put(type, name, type.location() + "|" + name);
+            }
+        } finally {
+            CONTEXT.remove();
+        }
+    }
+
+    private static List<List<String>> sequential() {
+        CaptureLanes<String> lanes = new CaptureLanes<>(CONTEXT::get);
+        // Reverse order on one thread, the result must not depend on it
+        for (int context = CONTEXTS - 1; context >= 0; context--) {
+            capture(lanes, context);
+        }
+        return snapshot(lanes.toStore());
+    }
+
+    private static List<List<String>> snapshot(RegistrationStore<String> store) {
+        List<List<String>> ret = new ArrayList<>();
+        for (ResourceKey<? extends Registry<?>> type : TYPES) {
+            ret.add(List.copyOf(store.getAll(type)));
+        }
+        return ret;
+    }
+
+    @Test
+    public void testConcurrentCaptureIsDeterministic() throws Exception {
+        List<List<String>> expected = sequential();
+        assertEquals(CONTEXTS * ENTRIES, expected.stream().mapToInt(List::size).sum());
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                CaptureLanes<String> lanes = new CaptureLanes<>(CONTEXT::get);
+                CountDownLatch start = new CountDownLatch(1);
+                AtomicBoolean done = new AtomicBoolean();
+
+                // Intermediate reads during capture must never lose values, and must not fix the final order
+                Future<?> reads = reader.submit(() -> {
+                    int[] seen = new int[TYPES.size()];
+                    while (!done.get()) {
+                        for (int i = 0; i < TYPES.size(); i++) {
+                            List<String> all = lanes.getAll(TYPES.get(i));
+                            assertTrue(all.size() >= seen[i], "Values disappeared between reads");
+                            assertEquals(all.size(), new HashSet<>(all).size(), "Duplicate values");
+                            seen[i] = all.size();
+                        }
+                    }
+                    return null;
+                });
+
+                List<Future<?>> tasks = new ArrayList<>();
+                for (int context = 0; context < CONTEXTS; context++) {
+                    int c = context;
+                    tasks.add(pool.submit(() -> {
+                        start.await();
+                        capture(lanes, c);
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> task : tasks) {
+                    task.get(1, TimeUnit.MINUTES);
+                }
+                done.set(true);
+                reads.get(1, TimeUnit.MINUTES);
+
+                assertEquals(expected, snapshot(lanes.toStore()), "Order differs from sequential capture in round " + round);
+            }
+        } finally {
+            pool.shutdownNow();
+            reader.shutdownNow();
+        }
+    }
+}